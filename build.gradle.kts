@@ -1,3 +1,7 @@
+import org.gradlex.build.GenerateSharedMappings
+
+plugins { id("org.gradlex.build.jmh") }
+
 version = "1.13.1"
 
 configurations.compileClasspath {
@@ -40,3 +44,55 @@ publishingConventions {
 }
 
 testingConventions { testGradleVersions("7.4", "7.6.5", "8.0.2", "8.14.3") }
+
+// The plugins this plugin integrates with need to be loaded together with it in functional tests
+val testPluginClasspath =
+    configurations.create("testPluginClasspath") {
+        isCanBeConsumed = false
+        extendsFrom(configurations.compileOnly.get())
+        attributes {
+            attribute(Usage.USAGE_ATTRIBUTE, objects.named(Usage.JAVA_RUNTIME))
+            attribute(Category.CATEGORY_ATTRIBUTE, objects.named(Category.LIBRARY))
+            attribute(LibraryElements.LIBRARY_ELEMENTS_ATTRIBUTE, objects.named(LibraryElements.JAR))
+            attribute(
+                TargetJvmEnvironment.TARGET_JVM_ENVIRONMENT_ATTRIBUTE,
+                objects.named(TargetJvmEnvironment.STANDARD_JVM),
+            )
+            attribute(
+                GradlePluginApiVersion.GRADLE_PLUGIN_API_VERSION_ATTRIBUTE,
+                objects.named(GradleVersion.current().version),
+            )
+        }
+    }
+
+tasks.pluginUnderTestMetadata { pluginClasspath.from(testPluginClasspath) }
+
+// The shared Module Name to GA mappings are compiled into a binary table that is loaded with a single read
+val sharedMappingsSources = layout.projectDirectory.dir("src/main/resources/org/gradlex/javamodule/dependencies")
+
+val generateSharedMappings =
+    tasks.register<GenerateSharedMappings>("generateSharedMappings") {
+        mappingFiles.from(
+            sharedMappingsSources.file("module-maven.properties"),
+            sharedMappingsSources.file("modules.properties"),
+        )
+        // the version the table is read with at runtime
+        formatVersion =
+            providers
+                .fileContents(
+                    layout.projectDirectory.file("src/main/java/org/gradlex/javamodule/dependencies/SharedMappings.java")
+                )
+                .asText
+                .map { source ->
+                    Regex("FORMAT_VERSION = (\\d+);").find(source)?.groupValues?.get(1)?.toInt()
+                        ?: error("FORMAT_VERSION not found in SharedMappings.java")
+                }
+        outputDirectory = layout.buildDirectory.dir("generated/sharedMappings")
+    }
+
+sourceSets.main { resources.srcDir(generateSharedMappings.map { it.outputDirectory }) }
+
+tasks.processResources {
+    exclude("org/gradlex/javamodule/dependencies/module-maven.properties")
+    exclude("org/gradlex/javamodule/dependencies/modules.properties")
+}
@@ -0,0 +1,94 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.build;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Compiles the shared Module Name to GA mappings into a binary table that is loaded with a single read.
+ */
+@CacheableTask
+public abstract class GenerateSharedMappings extends DefaultTask {
+
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract ConfigurableFileCollection getMappingFiles();
+
+    @Input
+    public abstract Property<Integer> getFormatVersion();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    @TaskAction
+    public void generate() throws IOException {
+        Properties mappings = new Properties() {
+            @Override
+            public synchronized Object put(Object key, Object value) {
+                if (get(key) != null) {
+                    throw new IllegalArgumentException(key + " already present.");
+                }
+                return super.put(key, value);
+            }
+        };
+        for (File file : getMappingFiles()) {
+            try (InputStream in = Files.newInputStream(file.toPath())) {
+                mappings.load(in);
+            }
+        }
+
+        // Entries keep the iteration order of the 'Properties' table the mappings were previously loaded into at
+        // runtime. If multiple Module Names map to the same GA, the first one is used for the GA -> Module Name lookup.
+        List<Map.Entry<Object, Object>> entries = new ArrayList<>(mappings.entrySet());
+        TreeSet<String> sortedStrings = new TreeSet<>();
+        for (Map.Entry<Object, Object> entry : entries) {
+            sortedStrings.add((String) entry.getKey());
+            sortedStrings.add((String) entry.getValue());
+        }
+        List<String> strings = new ArrayList<>(sortedStrings);
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < strings.size(); i++) {
+            index.put(strings.get(i), i);
+        }
+
+        File table = getOutputDirectory()
+                .file("org/gradlex/javamodule/dependencies/shared-mappings.bin")
+                .get()
+                .getAsFile();
+        Files.createDirectories(table.getParentFile().toPath());
+        try (DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(table.toPath())))) {
+            out.writeInt(getFormatVersion().get());
+            out.writeInt(strings.size());
+            for (String string : strings) {
+                out.writeUTF(string);
+            }
+            out.writeInt(entries.size());
+            for (Map.Entry<Object, Object> entry : entries) {
+                out.writeInt(index.get((String) entry.getKey()));
+                out.writeInt(index.get((String) entry.getValue()));
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.build;
+
+import java.util.Arrays;
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.ConfigurationContainer;
+import org.gradle.api.artifacts.dsl.DependencyHandler;
+import org.gradle.api.file.ProjectLayout;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.ProviderFactory;
+import org.gradle.api.tasks.JavaExec;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskProvider;
+
+/**
+ * JMH benchmarks in 'src/jmh'. './gradlew jmh' runs them and compares the results with 'src/jmh/baseline.csv'.
+ * <p>
+ * Scores depend on the machine. The checked-in baseline was recorded on the reference setup described in
+ * 'src/jmh/README.md'; to compare on another machine, first record a baseline there by deleting the file and running
+ * './gradlew jmh'. The comparison is written to 'build/reports/jmh/comparison.md'; '-Pjmh.threshold=percent'
+ * (default 10) sets from which slowdown a benchmark is marked as a regression. '-Pjmh.includes=regex' selects
+ * benchmarks.
+ */
+public abstract class JmhPlugin implements Plugin<Project> {
+
+    private static final String JMH_VERSION = "1.37";
+
+    @Override
+    public void apply(Project project) {
+        project.getPlugins().apply(JavaPlugin.class);
+
+        ConfigurationContainer configurations = project.getConfigurations();
+        DependencyHandler dependencies = project.getDependencies();
+        ProjectLayout layout = project.getLayout();
+        ProviderFactory providers = project.getProviders();
+
+        SourceSetContainer sourceSets = project.getExtensions().getByType(SourceSetContainer.class);
+        SourceSet main = sourceSets.getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+        SourceSet jmh = sourceSets.create("jmh", s -> {
+            s.setCompileClasspath(s.getCompileClasspath().plus(main.getOutput()));
+            s.setRuntimeClasspath(s.getRuntimeClasspath().plus(main.getOutput()));
+        });
+        configurations
+                .getByName(jmh.getImplementationConfigurationName())
+                .extendsFrom(configurations.getByName(main.getImplementationConfigurationName()));
+        dependencies.add(jmh.getImplementationConfigurationName(), dependencies.gradleApi());
+        dependencies.add(jmh.getImplementationConfigurationName(), "org.openjdk.jmh:jmh-core:" + JMH_VERSION);
+        dependencies.add(
+                jmh.getAnnotationProcessorConfigurationName(),
+                "org.openjdk.jmh:jmh-generator-annprocess:" + JMH_VERSION);
+
+        Provider<RegularFile> results = layout.getBuildDirectory().file("reports/jmh/results.csv");
+        Provider<RegularFile> report = layout.getBuildDirectory().file("reports/jmh/comparison.md");
+        RegularFile baseline = layout.getProjectDirectory().file("src/jmh/baseline.csv");
+        Provider<String> includes = providers.gradleProperty("jmh.includes").orElse(".*");
+        Provider<String> threshold = providers.gradleProperty("jmh.threshold").orElse("10");
+
+        TaskProvider<JavaExec> jmhRun = project.getTasks().register("jmhRun", JavaExec.class, t -> {
+            t.setGroup("benchmark");
+            t.setDescription("Runs the JMH benchmarks (filter with -Pjmh.includes=<regex>).");
+            t.setClasspath(jmh.getRuntimeClasspath());
+            t.getMainClass().set("org.openjdk.jmh.Main");
+            t.getArgumentProviders()
+                    .add(() -> Arrays.asList(
+                            includes.get(),
+                            "-rf",
+                            "csv",
+                            "-rff",
+                            results.get().getAsFile().getAbsolutePath()));
+            t.getOutputs().file(results);
+            t.getOutputs().upToDateWhen(s -> false);
+        });
+
+        project.getTasks().register("jmh", JavaExec.class, t -> {
+            t.setGroup("benchmark");
+            t.setDescription("Runs the JMH benchmarks and compares the results with the baseline.");
+            t.dependsOn(jmhRun);
+            t.setClasspath(jmh.getRuntimeClasspath());
+            t.getMainClass().set("org.gradlex.javamodule.dependencies.benchmarks.BaselineComparison");
+            t.getArgumentProviders()
+                    .add(() -> Arrays.asList(
+                            results.get().getAsFile().getAbsolutePath(),
+                            baseline.getAsFile().getAbsolutePath(),
+                            report.get().getAsFile().getAbsolutePath(),
+                            threshold.get()));
+        });
+    }
+}
@@ -0,0 +1,161 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares the CSV results of a JMH run with a baseline CSV and writes a Markdown report. If there is no baseline
+ * yet, the results become the baseline.
+ * <p>
+ * Arguments: {@code <results.csv> <baseline.csv> <report.md> <threshold-percent>}
+ */
+public class BaselineComparison {
+
+    public static void main(String[] args) throws IOException {
+        Path results = Paths.get(args[0]);
+        Path baseline = Paths.get(args[1]);
+        Path report = Paths.get(args[2]);
+        double threshold = Double.parseDouble(args[3]);
+
+        if (!Files.exists(baseline)) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(results, baseline);
+            System.out.println("No baseline found. Results stored as new baseline: " + baseline);
+            return;
+        }
+
+        Map<String, Result> baselineResults = read(baseline);
+        Map<String, Result> currentResults = read(results);
+
+        StringBuilder md = new StringBuilder();
+        md.append("| Benchmark | Unit | Baseline | Current | Change |\n");
+        md.append("|-----------|------|---------:|--------:|-------:|\n");
+        int regressions = 0;
+        for (Map.Entry<String, Result> entry : currentResults.entrySet()) {
+            Result current = entry.getValue();
+            Result base = baselineResults.get(entry.getKey());
+            String baseScore = "-";
+            String change = "new";
+            if (base != null && base.unit.equals(current.unit) && base.score != 0) {
+                double percent = (current.score - base.score) / base.score * 100;
+                // for throughput, higher is better; for all time based modes, lower is better
+                double worse = current.higherIsBetter() ? -percent : percent;
+                baseScore = format(base.score);
+                change = String.format(Locale.ROOT, "%+.1f%%", percent);
+                if (worse > threshold) {
+                    change += " :warning:";
+                    regressions++;
+                }
+            }
+            md.append("| ")
+                    .append(entry.getKey())
+                    .append(" | ")
+                    .append(current.unit)
+                    .append(" | ")
+                    .append(baseScore)
+                    .append(" | ")
+                    .append(format(current.score))
+                    .append(" | ")
+                    .append(change)
+                    .append(" |\n");
+        }
+        if (regressions > 0) {
+            md.append("\n")
+                    .append(regressions)
+                    .append(" benchmark(s) more than ")
+                    .append(format(threshold))
+                    .append("% slower than the baseline.\n");
+        }
+
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        Files.write(report, md.toString().getBytes(UTF_8));
+        System.out.print(md);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static Map<String, Result> read(Path csv) throws IOException {
+        List<String> lines = Files.readAllLines(csv, UTF_8);
+        Map<String, Result> results = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return results;
+        }
+        List<String> header = split(lines.get(0));
+        int benchmark = header.indexOf("Benchmark");
+        int mode = header.indexOf("Mode");
+        int score = header.indexOf("Score");
+        int unit = header.indexOf("Unit");
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            List<String> columns = split(line);
+            StringBuilder key = new StringBuilder(columns.get(benchmark));
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).startsWith("Param: ")) {
+                    key.append(" ").append(header.get(i).substring(7)).append("=").append(columns.get(i));
+                }
+            }
+            key.append(" (").append(columns.get(mode)).append(")");
+            results.put(
+                    key.toString(),
+                    new Result(columns.get(mode), parseScore(columns.get(score)), columns.get(unit)));
+        }
+        return results;
+    }
+
+    private static double parseScore(String score) {
+        try {
+            return Double.parseDouble(score);
+        } catch (NumberFormatException e) {
+            // results written with a locale that uses ',' as decimal separator
+            return Double.parseDouble(score.replace(',', '.'));
+        }
+    }
+
+    private static List<String> split(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (char c : line.toCharArray()) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        columns.add(column.toString());
+        return columns;
+    }
+
+    private static class Result {
+        final String mode;
+        final double score;
+        final String unit;
+
+        Result(String mode, double score, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.unit = unit;
+        }
+
+        boolean higherIsBetter() {
+            return mode.equals("thrpt");
+        }
+    }
+}
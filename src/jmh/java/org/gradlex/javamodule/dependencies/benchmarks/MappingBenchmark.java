@@ -0,0 +1,105 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.gradle.api.Project;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.gradlex.javamodule.dependencies.JavaModuleDependenciesExtension;
+import org.gradlex.javamodule.dependencies.JavaModuleDependenciesPlugin;
+import org.gradlex.javamodule.dependencies.SharedMappings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Module Name to GA mappings (and back) as they are done for each 'requires' of a build. Uses the complete
+ * shared mappings table and a configurable number of additional prefix mappings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// ProjectBuilder injects classes into 'java.lang'
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+public class MappingBenchmark {
+
+    @Param({"10", "1000"})
+    int prefixes;
+
+    JavaModuleDependenciesExtension javaModuleDependencies;
+    List<String> knownModuleNames;
+    List<String> prefixModuleNames;
+    List<String> knownGAs;
+    List<String> unknownGAs;
+
+    @Setup
+    public void setup() throws IOException {
+        Project project = ProjectBuilder.builder()
+                .withProjectDir(Files.createTempDirectory("mapping").toFile())
+                .build();
+        project.getPlugins().apply(JavaModuleDependenciesPlugin.class);
+        javaModuleDependencies = project.getExtensions().getByType(JavaModuleDependenciesExtension.class);
+
+        prefixModuleNames = new ArrayList<>();
+        for (int i = 0; i < prefixes; i++) {
+            javaModuleDependencies.getModuleNamePrefixToGroup().put("org.example.group" + i + ".", "org.example" + i);
+            prefixModuleNames.add("org.example.group" + i + ".lib");
+        }
+        // the mappings do not change anymore, so that lookups that take a snapshot share it
+        ((ProjectInternal) project).evaluate();
+
+        knownModuleNames = new ArrayList<>(SharedMappings.mappings.keySet());
+        knownModuleNames.sort(String::compareTo);
+        knownGAs = new ArrayList<>();
+        for (int i = 0; i < knownModuleNames.size(); i += knownModuleNames.size() / 100) {
+            knownGAs.add(SharedMappings.mappings.get(knownModuleNames.get(i)));
+        }
+        unknownGAs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            unknownGAs.add("org.example" + (i % prefixes) + ":lib");
+        }
+    }
+
+    @Benchmark
+    public void gaForAllSharedMappings(Blackhole blackhole) {
+        for (String moduleName : knownModuleNames) {
+            blackhole.consume(javaModuleDependencies.ga(moduleName).get());
+        }
+    }
+
+    @Benchmark
+    public void gaByPrefix(Blackhole blackhole) {
+        for (String moduleName : prefixModuleNames) {
+            blackhole.consume(javaModuleDependencies.ga(moduleName).get());
+        }
+    }
+
+    @Benchmark
+    public void moduleNameForSharedMappings(Blackhole blackhole) {
+        for (String ga : knownGAs) {
+            blackhole.consume(javaModuleDependencies.moduleName(ga).getOrNull());
+        }
+    }
+
+    @Benchmark
+    public void moduleNameByPrefix(Blackhole blackhole) {
+        for (String ga : unknownGAs) {
+            blackhole.consume(javaModuleDependencies.moduleName(ga).getOrNull());
+        }
+    }
+}
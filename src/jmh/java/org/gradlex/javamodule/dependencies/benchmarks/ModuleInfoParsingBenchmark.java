@@ -0,0 +1,70 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.gradlex.javamodule.dependencies.internal.utils.ModuleInfo;
+import org.gradlex.javamodule.dependencies.internal.utils.PersistentModuleInfoCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parsing all module-info.java files of a large build.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModuleInfoParsingBenchmark {
+
+    @Param({"2000"})
+    int modules;
+
+    List<String> moduleInfoFiles;
+    File persistentCacheDir;
+
+    @Setup
+    public void setup() throws IOException {
+        moduleInfoFiles = SyntheticModules.moduleInfoFiles(modules);
+        persistentCacheDir = Files.createTempDirectory("module-info-cache").toFile();
+        for (String content : moduleInfoFiles) {
+            PersistentModuleInfoCache.get(persistentCacheDir, content);
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String content : moduleInfoFiles) {
+            blackhole.consume(new ModuleInfo(content));
+        }
+    }
+
+    @Benchmark
+    public void parseWithJavaParser(Blackhole blackhole) {
+        for (String content : moduleInfoFiles) {
+            blackhole.consume(ModuleInfo.parseWithJavaParser(content));
+        }
+    }
+
+    @Benchmark
+    public void readFromPersistentCache(Blackhole blackhole) {
+        for (String content : moduleInfoFiles) {
+            blackhole.consume(PersistentModuleInfoCache.get(persistentCacheDir, content));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import org.gradlex.javamodule.dependencies.internal.utils.ModuleInfoClassCreator;
+import org.gradlex.javamodule.dependencies.internal.utils.ModuleJar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Inspecting Jars of different sizes: explicit modules (module-info.class as last entry), automatic modules
+ * (Automatic-Module-Name in the manifest) and plain Jars (no module information at all).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModuleJarBenchmark {
+
+    @Param({"100", "10000"})
+    int entries;
+
+    File explicitModule;
+    File automaticModule;
+    File plainJar;
+
+    @Setup
+    public void setup() throws IOException {
+        File dir = Files.createTempDirectory("module-jars").toFile();
+        File moduleInfoFolder = new File(dir, "org.example.explicit");
+        ModuleInfoClassCreator.createEmpty(moduleInfoFolder);
+        byte[] moduleInfoClass = Files.readAllBytes(new File(moduleInfoFolder, "module-info.class").toPath());
+
+        explicitModule = createJar(new File(dir, "explicit.jar"), null, moduleInfoClass);
+        automaticModule = createJar(new File(dir, "automatic.jar"), "org.example.automatic", null);
+        plainJar = createJar(new File(dir, "plain.jar"), null, null);
+    }
+
+    private File createJar(File jar, String automaticModuleName, byte[] moduleInfoClass) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        if (automaticModuleName != null) {
+            manifest.getMainAttributes().putValue("Automatic-Module-Name", automaticModuleName);
+        }
+        byte[] classContent = new byte[512];
+        try (OutputStream out = Files.newOutputStream(jar.toPath());
+                JarOutputStream jarOut = new JarOutputStream(out, manifest)) {
+            for (int i = 0; i < entries; i++) {
+                jarOut.putNextEntry(new JarEntry("org/example/pkg" + (i / 100) + "/Class" + i + ".class"));
+                jarOut.write(classContent);
+                jarOut.closeEntry();
+            }
+            if (moduleInfoClass != null) {
+                jarOut.putNextEntry(new JarEntry("module-info.class"));
+                jarOut.write(moduleInfoClass);
+                jarOut.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    @Benchmark
+    public String readModuleNameExplicitModule() throws IOException {
+        return ModuleJar.inspect(explicitModule).getModuleName();
+    }
+
+    @Benchmark
+    public String readModuleNameAutomaticModule() throws IOException {
+        return ModuleJar.inspect(automaticModule).getModuleName();
+    }
+
+    @Benchmark
+    public String readModuleNamePlainJar() throws IOException {
+        return ModuleJar.inspect(plainJar).getModuleName();
+    }
+
+    @Benchmark
+    public boolean isRealModuleExplicitModule() throws IOException {
+        return ModuleJar.inspect(explicitModule).isRealModule();
+    }
+
+    @Benchmark
+    public boolean isRealModulePlainJar() throws IOException {
+        return ModuleJar.inspect(plainJar).isRealModule();
+    }
+}
@@ -0,0 +1,75 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.gradlex.javamodule.dependencies.SharedMappings;
+
+/**
+ * Generates realistic module-info.java files for a large build with a fixed seed, so that all runs (and the
+ * baseline) measure the same input.
+ */
+class SyntheticModules {
+
+    static final String PREFIX = "com.example.product.";
+
+    static List<String> moduleInfoFiles(int count) {
+        Random random = new Random(42);
+        List<String> wellKnownModules = new ArrayList<>(SharedMappings.mappings.keySet());
+        wellKnownModules.sort(String::compareTo);
+        List<String> files = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder content = new StringBuilder();
+            boolean withProvides = random.nextInt(10) == 0;
+            if (withProvides) {
+                content.append("import ").append(PREFIX).append("api.Service;\n\n");
+            }
+            content.append("/**\n * Module number ").append(i).append("\n */\n");
+            content.append("module ").append(PREFIX).append("module").append(i).append(" {\n");
+            int local = random.nextInt(10);
+            for (int j = 0; j < local; j++) {
+                content.append("    requires ");
+                if (random.nextInt(4) == 0) {
+                    content.append("transitive ");
+                }
+                content.append(PREFIX).append("module").append(random.nextInt(count)).append(";\n");
+            }
+            content.append("\n    // external dependencies\n");
+            int external = 5 + random.nextInt(20);
+            for (int j = 0; j < external; j++) {
+                int kind = random.nextInt(10);
+                content.append("    requires ");
+                if (kind == 0) {
+                    content.append("static ");
+                } else if (kind == 1) {
+                    content.append("/*runtime*/ ");
+                }
+                content.append(wellKnownModules.get(random.nextInt(wellKnownModules.size())))
+                        .append(";\n");
+            }
+            content.append("\n    exports ").append(PREFIX).append("module").append(i).append(";\n");
+            content.append("    exports ")
+                    .append(PREFIX)
+                    .append("module")
+                    .append(i)
+                    .append(".internal to ")
+                    .append(PREFIX)
+                    .append("module")
+                    .append(random.nextInt(count))
+                    .append(";\n");
+            if (withProvides) {
+                content.append("\n    provides Service with ")
+                        .append(PREFIX)
+                        .append("module")
+                        .append(i)
+                        .append(".ServiceImpl;\n");
+            }
+            content.append("}\n");
+            files.add(content.toString());
+        }
+        return files;
+    }
+
+    private SyntheticModules() {}
+}
@@ -1,13 +1,34 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.gradlex.javamodule.dependencies;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.ProviderNotFoundException;
 import java.util.Arrays;
-import java.util.List;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 import org.jspecify.annotations.NullMarked;
 
+/**
+ * Modules that are part of the JDK and do not need a dependency. The modules are read from the 'jrt:/' file system
+ * of the JDK Gradle runs on, if it is also used for compilation.
+ */
 @NullMarked
-interface JDKInfo {
-    List<String> MODULES = Arrays.asList(
+final class JDKInfo {
+    /**
+     * Modules of a current JDK, used if the modules of the toolchain cannot be determined.
+     */
+    static final Set<String> MODULES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
             "java.base",
             "java.compiler",
             "java.datatransfer",
@@ -69,5 +90,41 @@ interface JDKInfo {
             "jdk.unsupported",
             "jdk.unsupported.desktop",
             "jdk.xml.dom",
-            "jdk.zipfs");
+            "jdk.zipfs")));
+
+    private static final Map<File, Set<String>> MODULES_BY_INSTALLATION = new ConcurrentHashMap<>();
+
+    private JDKInfo() {}
+
+    /**
+     * @return the names of all modules of the JDK Gradle runs on and of {@link #MODULES}
+     */
+    static Set<String> modulesOfCurrentJvm() {
+        return modules(new File(System.getProperty("java.home")));
+    }
+
+    /**
+     * @param installationPath the installation folder of a JDK
+     * @return the names of all modules of the given JDK and of {@link #MODULES}; computed once per installation
+     */
+    static Set<String> modules(File installationPath) {
+        return MODULES_BY_INSTALLATION.computeIfAbsent(installationPath.getAbsoluteFile(), JDKInfo::readModules);
+    }
+
+    private static Set<String> readModules(File installationPath) {
+        if (!new File(installationPath, "lib/modules").isFile()) {
+            // not a modular JDK (Java 8)
+            return MODULES;
+        }
+        Map<String, String> env = Collections.singletonMap("java.home", installationPath.getAbsolutePath());
+        try (FileSystem jrt = FileSystems.newFileSystem(URI.create("jrt:/"), env);
+                Stream<Path> modules = Files.list(jrt.getPath("/modules"))) {
+            Set<String> result = new HashSet<>(MODULES);
+            modules.forEach(module -> result.add(module.getFileName().toString()));
+            return Collections.unmodifiableSet(result);
+        } catch (IOException | UncheckedIOException | ProviderNotFoundException e) {
+            // e.g. no 'jrt' file system if Gradle runs on Java 8
+            return MODULES;
+        }
+    }
 }
@@ -1,24 +1,23 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.gradlex.javamodule.dependencies;
 
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
 import static java.util.Optional.empty;
 import static org.gradlex.javamodule.dependencies.internal.utils.DependencyDeclarationsUtil.copyVersionConstraint;
 import static org.gradlex.javamodule.dependencies.internal.utils.ModuleInfo.Directive.REQUIRES_RUNTIME;
 
-import java.io.CharArrayReader;
 import java.io.File;
-import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import org.gradle.api.Project;
@@ -43,6 +42,7 @@ import org.gradle.api.file.ProjectLayout;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.plugins.ExtensionContainer;
+import org.gradle.api.plugins.JavaPluginExtension;
 import org.gradle.api.provider.MapProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
@@ -51,9 +51,17 @@ import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.SourceSetContainer;
 import org.gradle.api.tasks.TaskContainer;
 import org.gradle.api.tasks.TaskProvider;
+import org.gradle.jvm.toolchain.JavaToolchainService;
 import org.gradle.language.jvm.tasks.ProcessResources;
+import org.gradlex.javamodule.dependencies.internal.bridges.ExtraJavaModuleInfoBridge;
+import org.gradlex.javamodule.dependencies.internal.utils.MappingStatistics;
 import org.gradlex.javamodule.dependencies.internal.utils.ModuleInfo;
 import org.gradlex.javamodule.dependencies.internal.utils.ModuleInfoCache;
+import org.gradlex.javamodule.dependencies.internal.utils.ModuleNameMappings;
+import org.gradlex.javamodule.dependencies.internal.utils.ModuleNamePrefixTrie;
+import org.gradlex.javamodule.dependencies.internal.utils.ModuleWiring;
+import org.gradlex.javamodule.dependencies.internal.utils.ModulesPropertiesParser;
+import org.gradlex.javamodule.dependencies.internal.utils.ProjectNameIndex;
 import org.gradlex.javamodule.dependencies.tasks.MetaInfServicesGenerate;
 import org.gradlex.javamodule.dependencies.tasks.SyntheticModuleInfoFoldersGenerate;
 import org.jspecify.annotations.NullMarked;
@@ -70,6 +78,9 @@ public abstract class JavaModuleDependenciesExtension {
     static final String JAVA_MODULE_DEPENDENCIES = "javaModuleDependencies";
 
     private final ExtensionContainer projectExtensions;
+    private volatile @Nullable ModuleNameMappings mappings;
+    private volatile @Nullable Set<String> jdkModules;
+    private final @Nullable Provider<MappingStatistics> mappingStatistics;
 
     public abstract Property<ModuleInfoCache> getModuleInfoCache();
 
@@ -129,27 +140,22 @@ public abstract class JavaModuleDependenciesExtension {
     public JavaModuleDependenciesExtension(ExtensionContainer projectExtensions, File rootDir) {
         this.projectExtensions = projectExtensions;
         getModuleInfoCache()
-                .convention(getProviders().provider(() -> getObjects().newInstance(ModuleInfoCache.class, false)));
+                .convention(ModuleInfoCache.register(
+                        getProject().getGradle(), getProject().getRootDir(), getProviders(), false));
         getModulesProperties().set(new File(rootDir, "gradle/modules.properties"));
         getVersionCatalogName().convention("libs");
         getModuleNameCheck().convention(true);
         getAnalyseOnly().convention(false);
+        this.mappingStatistics = MappingStatistics.registerIfEnabled(getProject(), getProviders());
         getModuleNameToGA().putAll(SharedMappings.mappings);
         getModuleNameToGA().putAll(parsedModulesProperties().orElse(Collections.emptyMap()));
     }
 
     private Provider<Map<String, String>> parsedModulesProperties() {
-        return getProviders().fileContents(getModulesProperties()).getAsText().map(c -> {
-            Properties p = new Properties();
-            try {
-                p.load(new CharArrayReader(c.toCharArray()));
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-            @SuppressWarnings({"rawtypes", "unchecked"})
-            Map<String, String> result = (Map) p;
-            return result;
-        });
+        return getProviders()
+                .fileContents(getModulesProperties())
+                .getAsText()
+                .map(c -> ModulesPropertiesParser.parse(getModulesProperties().get().getAsFile(), c));
     }
 
     /**
@@ -185,10 +191,8 @@ public abstract class JavaModuleDependenciesExtension {
      * @return Dependency notation
      */
     public Provider<String> ga(String moduleName) {
-        return getModuleNameToGA()
-                .getting(moduleName)
-                .orElse(mapByPrefix(getProviders().provider(() -> moduleName)))
-                .orElse(errorIfNotFound(moduleName));
+        Provider<String> ga = getProviders().provider(() -> lookUpGA(moduleName)).orElse(errorIfNotFound(moduleName));
+        return recordGA(getProviders().provider(() -> moduleName), ga);
     }
 
     /**
@@ -199,93 +203,278 @@ public abstract class JavaModuleDependenciesExtension {
      * @return Dependency notation
      */
     public Provider<String> ga(Provider<String> moduleName) {
-        return moduleName
-                .flatMap(n -> getModuleNameToGA().getting(n))
-                .orElse(mapByPrefix(moduleName))
-                .orElse(errorIfNotFound(moduleName));
-    }
-
-    private Provider<String> mapByPrefix(Provider<String> moduleName) {
-        return getModuleNamePrefixToGroup().map(m -> {
-            Optional<Map.Entry<String, String>> prefixToGroup = m.entrySet().stream()
-                    .filter(e -> moduleName.get().startsWith(keyWithoutClassifier(e)))
-                    .max(Comparator.comparingInt(e -> keyWithoutClassifier(e).length()));
-            if (prefixToGroup.isPresent()) {
-                String namePrefix = prefixToGroup.get().getKey();
-                String nameSuffix = "";
-                if (namePrefix.contains("|")) {
-                    String[] split = namePrefix.split("\\|");
-                    namePrefix = split[0];
-                    nameSuffix = split[1];
-                }
-                String group = prefixToGroup.get().getValue();
-                String classifier = "";
-                if (group.contains("|")) {
-                    String[] split = group.split("\\|");
-                    group = split[0];
-                    classifier = "|" + split[1];
-                }
+        Provider<String> ga = moduleName.map(this::lookUpGA).orElse(errorIfNotFound(moduleName));
+        return recordGA(moduleName, ga);
+    }
 
-                if (moduleName.get().endsWith(nameSuffix)) {
-                    String artifact = toProjectName(moduleName
-                            .get()
-                            .substring(0, moduleName.get().length() - nameSuffix.length())
-                            .substring(namePrefix.length()));
-                    return group + ":" + artifact + classifier;
-                } else {
-                    String artifact = toProjectName(moduleName.get().substring(namePrefix.length()));
-                    return group + ":" + artifact;
-                }
+    private Provider<String> recordGA(Provider<String> moduleName, Provider<String> ga) {
+        Provider<MappingStatistics> statistics = mappingStatistics;
+        if (statistics == null) {
+            return ga;
+        }
+        return getProviders().provider(() -> {
+            long start = System.nanoTime();
+            String coordinates;
+            try {
+                coordinates = ga.get();
+            } catch (RuntimeException e) {
+                statistics.get().record("ga", MappingStatistics.MISS, System.nanoTime() - start);
+                throw e;
             }
-            return null;
+            long time = System.nanoTime() - start;
+            statistics.get().record("ga", mappingSource(statistics.get(), moduleName.get()), time);
+            return coordinates;
         });
     }
 
-    private String keyWithoutClassifier(Map.Entry<String, String> e) {
-        return e.getKey().contains("|") ? e.getKey().substring(0, e.getKey().indexOf("|")) : e.getKey();
+    /**
+     * @return which of the mappings that are combined in 'moduleNameToGA' defines the given Module Name
+     */
+    private String mappingSource(MappingStatistics statistics, String moduleName) {
+        if (!getProject().getState().getExecuted()) {
+            // the mappings may still change
+            return mappingSources().of(moduleName);
+        }
+        return statistics.sources(getProject().getPath(), this::mappingSources).of(moduleName);
     }
 
-    private String toProjectName(String moduleNameSuffix) {
-        List<String> allProjectNames = getProject().getRootProject().getSubprojects().stream()
-                .map(Project::getName)
-                .collect(Collectors.toList());
+    private MappingStatistics.Sources mappingSources() {
+        return new MappingStatistics.Sources(
+                mappings().getModuleNameToGA(),
+                parsedModulesProperties().getOrElse(emptyMap()),
+                getProject().getPlugins().hasPlugin(JavaModuleDependenciesPlugin.EXTRA_JAVA_MODULE_INFO_PLUGIN_ID)
+                        ? ExtraJavaModuleInfoBridge.patchedModuleMappings(getProject())
+                        : emptyMap());
+    }
+
+    /**
+     * A single lookup does not take a snapshot of all mappings. Only the prefix trie is shared with other lookups.
+     */
+    private @Nullable String lookUpGA(String moduleName) {
+        String ga = getModuleNameToGA().getting(moduleName).getOrNull();
+        return ga != null ? ga : mapByPrefix(moduleName, prefixMappings().getPrefixTrie());
+    }
+
+    private @Nullable String ga(String moduleName, ModuleNameMappings mappings) {
+        String ga = mappings.getModuleNameToGA().get(moduleName);
+        return ga != null ? ga : mapByPrefix(moduleName, mappings.getPrefixTrie());
+    }
+
+    private @Nullable String mapByPrefix(String name, ModuleNamePrefixTrie prefixTrie) {
+        ModuleNamePrefixTrie.Mapping prefixToGroup = prefixTrie.longestPrefix(name);
+        if (prefixToGroup != null) {
+            String namePrefix = prefixToGroup.getNamePrefix();
+            String nameSuffix = prefixToGroup.getNameSuffix();
+            String group = prefixToGroup.getGroup();
+            if (name.endsWith(nameSuffix)) {
+                String artifact = toProjectName(
+                        name.substring(0, name.length() - nameSuffix.length()).substring(namePrefix.length()));
+                return group + ":" + artifact + prefixToGroup.getClassifier();
+            } else {
+                String artifact = toProjectName(name.substring(namePrefix.length()));
+                return group + ":" + artifact;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The mappings may change at any time. The snapshot – with the prefix trie and the index built from it – is
+     * shared by all lookups as long as the mappings stay the same.
+     */
+    private ModuleNameMappings mappings() {
+        Map<String, String> moduleNameToGA = getModuleNameToGA().get();
+        Map<String, String> prefixToGroup = getModuleNamePrefixToGroup().get();
+        ModuleNameMappings snapshot = mappings;
+        if (snapshot == null || !snapshot.isSnapshotOf(moduleNameToGA, prefixToGroup)) {
+            snapshot = new ModuleNameMappings(moduleNameToGA, prefixToGroup, snapshot);
+            mappings = snapshot;
+        }
+        return snapshot;
+    }
 
-        Optional<String> perfectMatch = allProjectNames.stream()
-                .filter(p -> p.replace("-", ".").equals(moduleNameSuffix))
-                .findFirst();
-        Optional<String> existingProjectName = allProjectNames.stream()
-                .filter(p -> moduleNameSuffix.startsWith(p.replace("-", ".") + "."))
-                .max(Comparator.comparingInt(String::length));
-
-        if (perfectMatch.isPresent()) {
-            return perfectMatch.get();
-        } else if (existingProjectName.isPresent()) {
-            String capabilityClassifier = moduleNameSuffix
-                    .substring(existingProjectName.get().length() + 1)
-                    .replace(".", "-");
-            return existingProjectName.get() + "|"
-                    + capabilityClassifier; // no exact match (assume last segment is capability)
+    /**
+     * @return a snapshot of which only the prefix mappings are known to be up to date
+     */
+    private ModuleNameMappings prefixMappings() {
+        ModuleNameMappings snapshot = mappings;
+        if (snapshot != null && snapshot.isPrefixSnapshotOf(getModuleNamePrefixToGroup().get())) {
+            return snapshot;
+        }
+        return mappings();
+    }
+
+    private String toProjectName(String moduleNameSuffix) {
+        ProjectNameIndex projectNames = projectNameIndex();
+        ProjectNameIndex.Entry perfectMatch = projectNames.perfectMatch(moduleNameSuffix);
+        if (perfectMatch != null) {
+            return perfectMatch.getName();
+        }
+        ProjectNameIndex.Entry existingProject = projectNames.longestPrefixMatch(moduleNameSuffix);
+        if (existingProject != null) {
+            String projectName = existingProject.getName();
+            String capabilityClassifier =
+                    moduleNameSuffix.substring(projectName.length() + 1).replace(".", "-");
+            return projectName + "|" + capabilityClassifier; // no exact match (assume last segment is capability)
         }
 
         return moduleNameSuffix;
     }
 
+    private ProjectNameIndex projectNameIndex() {
+        return getModuleInfoCache().get().getProjectNameIndex(getProject().getRootProject());
+    }
+
     public Provider<Dependency> create(String moduleName, SourceSet sourceSetWithModuleInfo) {
         if (JDKInfo.MODULES.contains(moduleName)) {
             // The module is part of the JDK, no dependency required
             return getProviders().provider(() -> null);
         }
-        if (getModuleInfoCache().get().isInitializedInSettings()) {
-            return createPrecise(moduleName);
+        return getProviders()
+                .provider(() -> new DependencyResolution(sourceSetWithModuleInfo).resolve(moduleName));
+    }
+
+    /**
+     * Resolves all given Module Names in one pass, e.g. all 'requires' of a module-info.java. Lookups that do not
+     * depend on the individual Module Name are done only once for all of them.
+     *
+     * @param moduleNames the Module Names to resolve
+     * @param sourceSetWithModuleInfo the source set that requires the modules
+     * @return the dependencies for all Module Names that are not part of the JDK
+     */
+    public Provider<List<Dependency>> resolveAll(Collection<String> moduleNames, SourceSet sourceSetWithModuleInfo) {
+        return getProviders().provider(() -> {
+            DependencyResolution resolution = new DependencyResolution(sourceSetWithModuleInfo);
+            List<Dependency> dependencies = new ArrayList<>(moduleNames.size());
+            for (String moduleName : moduleNames) {
+                Dependency dependency = resolution.resolve(moduleName);
+                if (dependency != null) {
+                    dependencies.add(dependency);
+                }
+            }
+            return dependencies;
+        });
+    }
+
+    /**
+     * Resolves modules that were already matched to local modules by the settings plugin.
+     */
+    Provider<List<Dependency>> resolveAll(List<ModuleWiring> wiring, SourceSet sourceSetWithModuleInfo) {
+        return getProviders().provider(() -> {
+            DependencyResolution resolution = new DependencyResolution(sourceSetWithModuleInfo);
+            List<Dependency> dependencies = new ArrayList<>(wiring.size());
+            for (ModuleWiring module : wiring) {
+                Dependency dependency = resolution.resolve(module);
+                if (dependency != null) {
+                    dependencies.add(dependency);
+                }
+            }
+            return dependencies;
+        });
+    }
+
+    /**
+     * Only called for Module Names that are not in the static list. The installation of a configured toolchain is
+     * then looked up like it is for compilation, which may detect or download the JDK that compilation needs anyway.
+     *
+     * @return the modules of the JDK used for compilation
+     */
+    private Set<String> jdkModules() {
+        Set<String> modules = jdkModules;
+        if (modules != null) {
+            return modules;
+        }
+        JavaPluginExtension java = getProject().getExtensions().findByType(JavaPluginExtension.class);
+        if (java != null && java.getToolchain().getLanguageVersion().isPresent()) {
+            File installationPath = getJavaToolchains()
+                    .compilerFor(java.getToolchain())
+                    .map(compiler -> compiler.getMetadata().getInstallationPath().getAsFile())
+                    .get();
+            modules = JDKInfo.modules(installationPath);
         } else {
-            return createWithGuessing(moduleName, sourceSetWithModuleInfo);
+            modules = JDKInfo.modulesOfCurrentJvm();
+        }
+        if (getProject().getState().getExecuted()) {
+            // the toolchain may still change while the project is evaluated
+            jdkModules = modules;
         }
+        return modules;
     }
 
-    private Provider<Dependency> createPrecise(String moduleName) {
-        return getProviders().provider(() -> {
-            LocalModule localModule = getModuleInfoCache().get().getLocalModule(moduleName);
+    /**
+     * Resolution of Module Names required by one source set. Everything that does not depend on the individual
+     * Module Name is looked up once, on first use.
+     */
+    private final class DependencyResolution {
+        private final SourceSet sourceSetWithModuleInfo;
+        private final ModuleInfoCache moduleInfoCache;
+
+        private @Nullable ModuleNameMappings mappings;
+        private @Nullable Optional<VersionCatalog> catalog;
+        private @Nullable String ownModuleNamesPrefix;
+        private boolean ownModuleNamesPrefixKnown;
+
+        DependencyResolution(SourceSet sourceSetWithModuleInfo) {
+            this.sourceSetWithModuleInfo = sourceSetWithModuleInfo;
+            this.moduleInfoCache = getModuleInfoCache().get();
+        }
+
+        @Nullable Dependency resolve(String moduleName) {
+            return record("create", moduleName, () -> resolveUnrecorded(moduleName));
+        }
+
+        @Nullable Dependency resolve(ModuleWiring module) {
+            return record("wiring", module.getModuleName(), () -> resolveUnrecorded(module));
+        }
+
+        /**
+         * @param operation 'wiring' if the module was already matched by the settings plugin, 'create' otherwise
+         */
+        private @Nullable Dependency record(
+                String operation, String moduleName, Supplier<@Nullable Dependency> resolution) {
+            Provider<MappingStatistics> statistics = mappingStatistics;
+            if (statistics == null) {
+                return resolution.get();
+            }
+            long start = System.nanoTime();
+            Dependency dependency = resolution.get();
+            long time = System.nanoTime() - start;
+            String source;
+            if (dependency instanceof ProjectDependency) {
+                source = MappingStatistics.LOCAL_MODULE;
+            } else if (dependency != null) {
+                source = mappingSource(statistics.get(), moduleName);
+            } else if (JDKInfo.MODULES.contains(moduleName) || jdkModules().contains(moduleName)) {
+                source = MappingStatistics.JDK;
+            } else {
+                source = MappingStatistics.MISS;
+            }
+            statistics.get().record(operation, source, time);
+            return dependency;
+        }
 
+        private @Nullable Dependency resolveUnrecorded(String moduleName) {
+            if (JDKInfo.MODULES.contains(moduleName) || jdkModules().contains(moduleName)) {
+                // The module is part of the JDK, no dependency required
+                return null;
+            }
+            if (moduleInfoCache.isInitializedInSettings()) {
+                return createPrecise(moduleName, moduleInfoCache.getLocalModule(moduleName));
+            } else {
+                return createWithGuessing(moduleName);
+            }
+        }
+
+        private @Nullable Dependency resolveUnrecorded(ModuleWiring module) {
+            String moduleName = module.getModuleName();
+            if (JDKInfo.MODULES.contains(moduleName) || jdkModules().contains(moduleName)) {
+                // The module is part of the JDK, no dependency required
+                return null;
+            }
+            return createPrecise(moduleName, module.getLocalModule());
+        }
+
+        private @Nullable Dependency createPrecise(String moduleName, @Nullable LocalModule localModule) {
             if (localModule != null) {
                 // local project
                 ProjectDependency projectDependency = (ProjectDependency) getDependencies()
@@ -298,90 +487,108 @@ public abstract class JavaModuleDependenciesExtension {
             } else {
                 return createExternalDependency(moduleName);
             }
-        });
-    }
-
-    private Provider<Dependency> createWithGuessing(String moduleName, SourceSet sourceSetWithModuleInfo) {
-        return getProviders().provider(() -> {
-            Map<String, String> allProjectNamesAndGroups = getProject().getRootProject().getSubprojects().stream()
-                    .collect(Collectors.toMap(Project::getName, p -> (String) p.getGroup(), (a, b) -> a));
+        }
 
-            ModuleInfo moduleInfo = getModuleInfoCache().get().get(sourceSetWithModuleInfo, getProviders());
-            String ownModuleNamesPrefix = moduleInfo.moduleNamePrefix(
-                    getProject().getName(),
-                    sourceSetWithModuleInfo.getName(),
-                    getModuleNameCheck().get());
+        private @Nullable Dependency createWithGuessing(String moduleName) {
+            String ownModuleNamesPrefix = ownModuleNamesPrefix();
 
             String moduleNameSuffix = ownModuleNamesPrefix == null
                     ? null
                     : moduleName.startsWith(ownModuleNamesPrefix + ".")
                             ? moduleName.substring(ownModuleNamesPrefix.length() + 1)
                             : ownModuleNamesPrefix.isEmpty() ? moduleName : null;
+            if (moduleNameSuffix == null) {
+                return createExternalDependency(moduleName);
+            }
 
             String parentPath = getProject().getParent() == null
                     ? ""
                     : getProject().getParent().getPath();
-            Optional<String> perfectMatch = allProjectNamesAndGroups.keySet().stream()
-                    .filter(p -> p.replace("-", ".").equals(moduleNameSuffix))
-                    .findFirst();
-            Optional<String> existingProjectName = allProjectNamesAndGroups.keySet().stream()
-                    .filter(p -> moduleNameSuffix != null && moduleNameSuffix.startsWith(p.replace("-", ".") + "."))
-                    .max(Comparator.comparingInt(String::length));
-
-            if (perfectMatch.isPresent()) {
+            ProjectNameIndex projectNames = projectNameIndex();
+            ProjectNameIndex.Entry perfectMatch = projectNames.perfectMatch(moduleNameSuffix);
+            ProjectNameIndex.Entry existingProject =
+                    perfectMatch == null ? projectNames.longestPrefixMatch(moduleNameSuffix) : null;
+
+            if (perfectMatch != null) {
                 Dependency projectDependency = getDependencies()
-                        .create(getDependencies().project(singletonMap("path", parentPath + ":" + perfectMatch.get())));
+                        .create(getDependencies()
+                                .project(singletonMap("path", parentPath + ":" + perfectMatch.getName())));
                 projectDependency.because(moduleName);
                 return projectDependency;
-            } else if (existingProjectName.isPresent()) {
+            } else if (existingProject != null) {
                 // no exact match -> add capability to point at Module in other source set
-                String projectName = existingProjectName.get();
+                String projectName = existingProject.getName();
                 ProjectDependency projectDependency = (ProjectDependency) getDependencies()
                         .create(getDependencies().project(singletonMap("path", parentPath + ":" + projectName)));
                 String capabilityName = projectName
                         + moduleNameSuffix.substring(projectName.length()).replace(".", "-");
-                projectDependency.capabilities(
-                        c -> c.requireCapabilities(allProjectNamesAndGroups.get(projectName) + ":" + capabilityName));
+                String group = (String) getProject()
+                        .getRootProject()
+                        .project(existingProject.getPath())
+                        .getGroup();
+                projectDependency.capabilities(c -> c.requireCapabilities(group + ":" + capabilityName));
                 projectDependency.because(moduleName);
                 return projectDependency;
             }
 
             return createExternalDependency(moduleName);
-        });
-    }
+        }
 
-    private @Nullable ModuleDependency createExternalDependency(String moduleName) {
-        Provider<String> coordinates = getModuleNameToGA()
-                .getting(moduleName)
-                .orElse(mapByPrefix(getProviders().provider(() -> moduleName)));
-        if (coordinates.isPresent()) {
-            ExternalDependency component;
-            String capability;
-            if (coordinates.get().contains("|")) {
-                String[] split = coordinates.get().split("\\|");
-                component = findGav(split[0], moduleName);
-                if (split[1].contains(":")) {
-                    capability = split[1];
+        private @Nullable ModuleDependency createExternalDependency(String moduleName) {
+            String coordinates = ga(moduleName, mappings());
+            if (coordinates != null) {
+                ExternalDependency component;
+                String capability;
+                if (coordinates.contains("|")) {
+                    String[] split = coordinates.split("\\|");
+                    component = findGav(split[0], moduleName, catalog());
+                    if (split[1].contains(":")) {
+                        capability = split[1];
+                    } else {
+                        // only classifier was specified
+                        capability = split[0] + "-" + split[1];
+                    }
                 } else {
-                    // only classifier was specified
-                    capability = split[0] + "-" + split[1];
+                    component = findGav(coordinates, moduleName, catalog());
+                    capability = null;
+                }
+                ModuleDependency dependency = (ModuleDependency) getDependencies().create(component);
+                dependency.because(moduleName);
+                if (capability != null) {
+                    dependency.capabilities(c -> c.requireCapability(capability));
                 }
+                return dependency;
             } else {
-                component = findGav(coordinates.get(), moduleName);
-                capability = null;
+                getProject()
+                        .getLogger()
+                        .lifecycle("[WARN] [Java Module Dependencies] " + moduleName + "=group:artifact missing in "
+                                + getModulesProperties().get().getAsFile());
+                return null;
             }
-            ModuleDependency dependency = (ModuleDependency) getDependencies().create(component);
-            dependency.because(moduleName);
-            if (capability != null) {
-                dependency.capabilities(c -> c.requireCapability(capability));
+        }
+
+        private ModuleNameMappings mappings() {
+            if (mappings == null) {
+                mappings = JavaModuleDependenciesExtension.this.mappings();
             }
-            return dependency;
-        } else {
-            getProject()
-                    .getLogger()
-                    .lifecycle("[WARN] [Java Module Dependencies] " + moduleName + "=group:artifact missing in "
-                            + getModulesProperties().get().getAsFile());
-            return null;
+            return mappings;
+        }
+
+        private Optional<VersionCatalog> catalog() {
+            if (catalog == null) {
+                catalog = versionCatalog();
+            }
+            return catalog;
+        }
+
+        private @Nullable String ownModuleNamesPrefix() {
+            if (!ownModuleNamesPrefixKnown) {
+                ModuleInfo moduleInfo = moduleInfoCache.get(sourceSetWithModuleInfo, getProviders());
+                ownModuleNamesPrefix = moduleInfo.moduleNamePrefix(
+                        getProject().getName(), sourceSetWithModuleInfo.getName(), getModuleNameCheck().get());
+                ownModuleNamesPrefixKnown = true;
+            }
+            return ownModuleNamesPrefix;
         }
     }
 
@@ -440,10 +647,15 @@ public abstract class JavaModuleDependenciesExtension {
     }
 
     private ExternalDependency findGav(String ga, String moduleName) {
+        return findGav(ga, moduleName, versionCatalog());
+    }
+
+    private Optional<VersionCatalog> versionCatalog() {
         VersionCatalogsExtension versionCatalogs = projectExtensions.findByType(VersionCatalogsExtension.class);
-        Optional<VersionCatalog> catalog = versionCatalogs == null
-                ? empty()
-                : versionCatalogs.find(getVersionCatalogName().get());
+        return versionCatalogs == null ? empty() : versionCatalogs.find(getVersionCatalogName().get());
+    }
+
+    private ExternalDependency findGav(String ga, String moduleName, Optional<VersionCatalog> catalog) {
         Optional<VersionConstraint> version =
                 catalog.flatMap(versionCatalog -> versionCatalog.findVersion(moduleName.replace('_', '.')));
         ExternalDependency dependency = (ExternalDependency) getDependencies().create(ga);
@@ -469,23 +681,17 @@ public abstract class JavaModuleDependenciesExtension {
      * @return the first name found or unset
      */
     public Provider<String> moduleName(Provider<String> ga) {
+        Provider<MappingStatistics> statistics = mappingStatistics;
+        if (statistics == null) {
+            return ga.map(groupArtifact -> mappings().getIndex().moduleName(groupArtifact));
+        }
         return ga.map(groupArtifact -> {
-            Optional<String> found = getModuleNameToGA().get().entrySet().stream()
-                    .filter(e -> e.getValue().equals(groupArtifact))
-                    .map(Map.Entry::getKey)
-                    .findFirst();
-            if (found.isPresent()) {
-                return found.get();
-            } else {
-                String[] split = groupArtifact.split(":");
-                String group = split[0];
-                String artifact = split[1];
-                Optional<String> modulePrefix = getModuleNamePrefixToGroup().get().entrySet().stream()
-                        .filter(e -> e.getValue().equals(group))
-                        .map(Map.Entry::getKey)
-                        .findFirst();
-                return modulePrefix.map(s -> s + artifact).orElse(null);
-            }
+            long start = System.nanoTime();
+            String moduleName = mappings().getIndex().moduleName(groupArtifact);
+            long time = System.nanoTime() - start;
+            String source = moduleName == null ? MappingStatistics.MISS : mappingSource(statistics.get(), moduleName);
+            statistics.get().record("moduleName", source, time);
+            return moduleName;
         });
     }
 
@@ -621,4 +827,7 @@ public abstract class JavaModuleDependenciesExtension {
 
     @Inject
     protected abstract TaskContainer getTasks();
+
+    @Inject
+    protected abstract JavaToolchainService getJavaToolchains();
 }
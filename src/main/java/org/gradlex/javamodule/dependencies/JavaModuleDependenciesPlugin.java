@@ -21,10 +21,12 @@ import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
 import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.Dependency;
 import org.gradle.api.initialization.Settings;
 import org.gradle.api.plugins.ExtensionAware;
 import org.gradle.api.plugins.ExtensionContainer;
 import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.SourceSetContainer;
 import org.gradle.api.tasks.TaskProvider;
@@ -36,7 +38,11 @@ import org.gradlex.javamodule.dependencies.internal.bridges.DependencyAnalysisBr
 import org.gradlex.javamodule.dependencies.internal.bridges.ExtraJavaModuleInfoBridge;
 import org.gradlex.javamodule.dependencies.internal.dsl.AllDirectivesInternal;
 import org.gradlex.javamodule.dependencies.internal.dsl.GradleOnlyDirectivesInternal;
+import org.gradlex.javamodule.dependencies.internal.utils.JarDescriptors;
 import org.gradlex.javamodule.dependencies.internal.utils.ModuleInfo;
+import org.gradlex.javamodule.dependencies.internal.utils.ModuleInfoCache;
+import org.gradlex.javamodule.dependencies.internal.utils.ModuleWiring;
+import org.gradlex.javamodule.dependencies.internal.utils.PersistentJarDescriptorCache;
 import org.gradlex.javamodule.dependencies.tasks.BuildFileDependenciesGenerate;
 import org.gradlex.javamodule.dependencies.tasks.ModuleDependencyReport;
 import org.gradlex.javamodule.dependencies.tasks.ModuleDirectivesOrderingCheck;
@@ -48,7 +54,7 @@ import org.jspecify.annotations.NullMarked;
 @NullMarked
 public abstract class JavaModuleDependenciesPlugin implements Plugin<ExtensionAware> {
 
-    private static final String EXTRA_JAVA_MODULE_INFO_PLUGIN_ID = "org.gradlex.extra-java-module-info";
+    static final String EXTRA_JAVA_MODULE_INFO_PLUGIN_ID = "org.gradlex.extra-java-module-info";
     private static final String REGISTER_HELP_TASKS_PROPERTY =
             "org.gradlex.java-module-dependencies.register-help-tasks";
 
@@ -120,6 +126,7 @@ public abstract class JavaModuleDependenciesPlugin implements Plugin<ExtensionAw
         });
 
         setupDirectivesDSL(project, javaModuleDependencies);
+        JarDescriptors.registerTransform(project.getDependencies());
 
         TaskProvider<Task> checkAllModuleInfo = registerHelpTasks
                 ? project.getTasks().register("checkAllModuleInfo", t -> {
@@ -182,7 +189,10 @@ public abstract class JavaModuleDependenciesPlugin implements Plugin<ExtensionAw
     private void setupModuleDependenciesTask(Project project) {
         SourceSetContainer sourceSets = project.getExtensions().getByType(SourceSetContainer.class);
         TaskProvider<ModuleDependencyReport> moduleDependencies = project.getTasks()
-                .register("moduleDependencies", ModuleDependencyReport.class, t -> t.setGroup(HELP_GROUP));
+                .register("moduleDependencies", ModuleDependencyReport.class, t -> {
+                    t.setGroup(HELP_GROUP);
+                    PersistentJarDescriptorCache.configure(t.getJarDescriptorCache(), project);
+                });
         sourceSets.all(sourceSet -> moduleDependencies.configure(t -> {
             HashSet<Configuration> joined = new HashSet<>();
             //noinspection ConstantValue
@@ -200,6 +210,7 @@ public abstract class JavaModuleDependenciesPlugin implements Plugin<ExtensionAw
         project.getTasks().register("analyzeModulePath", ModulePathAnalysis.class, t -> {
             t.setGroup(HELP_GROUP);
             t.setDescription("Check consistency of the Module Path");
+            PersistentJarDescriptorCache.configure(t.getJarDescriptorCache(), project);
 
             for (SourceSet sourceSet : sourceSets) {
                 t.getClasspathConfigurations()
@@ -374,21 +385,18 @@ public abstract class JavaModuleDependenciesPlugin implements Plugin<ExtensionAw
         if (javaModuleDependenciesExtension.getAnalyseOnly().get()) {
             return;
         }
-        ModuleInfo moduleInfo =
-                javaModuleDependenciesExtension.getModuleInfoCache().get().get(sourceSet, project.getProviders());
-        for (String moduleName : moduleInfo.get(moduleDirective)) {
-            declareDependency(moduleName, project, sourceSet, configuration, javaModuleDependenciesExtension);
+        ModuleInfoCache moduleInfoCache = javaModuleDependenciesExtension.getModuleInfoCache().get();
+        ModuleInfo moduleInfo = moduleInfoCache.get(sourceSet, project.getProviders());
+        List<String> moduleNames = moduleInfo.get(moduleDirective);
+        if (moduleNames.isEmpty()) {
+            return;
         }
-    }
-
-    private void declareDependency(
-            String moduleName,
-            Project project,
-            SourceSet sourceSet,
-            Configuration configuration,
-            JavaModuleDependenciesExtension javaModuleDependencies) {
-        project.getDependencies()
-                .addProvider(configuration.getName(), javaModuleDependencies.create(moduleName, sourceSet));
+        // called when the configuration is resolved: resolve all modules right away
+        List<ModuleWiring> wiring = moduleInfoCache.getWiring(moduleInfo, moduleDirective);
+        Provider<List<Dependency>> dependencies = wiring == null
+                ? javaModuleDependenciesExtension.resolveAll(moduleNames, sourceSet)
+                : javaModuleDependenciesExtension.resolveAll(wiring, sourceSet);
+        configuration.getDependencies().addAll(dependencies.get());
     }
 
     private List<BuildFileDependenciesGenerate.DependencyDeclaration> collectDependencies(
@@ -405,12 +413,10 @@ public abstract class JavaModuleDependenciesPlugin implements Plugin<ExtensionAw
                     sourceSet.getJava().getSrcDirs().iterator().next().getParentFile();
             File whiteboxModuleInfoFile = new File(sourceSetDir, "java9/module-info.java");
             if (whiteboxModuleInfoFile.exists()) {
-                moduleInfo = new ModuleInfo(project.getProviders()
-                        .fileContents(project.getLayout()
-                                .getProjectDirectory()
-                                .file(whiteboxModuleInfoFile.getAbsolutePath()))
-                        .getAsText()
-                        .get());
+                moduleInfo = javaModuleDependencies
+                        .getModuleInfoCache()
+                        .get()
+                        .get(whiteboxModuleInfoFile.getParentFile(), project.getProviders());
             }
         }
         return moduleInfo.get(directive).stream()
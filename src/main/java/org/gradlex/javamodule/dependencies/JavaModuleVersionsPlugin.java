@@ -127,12 +127,10 @@ public abstract class JavaModuleVersionsPlugin implements Plugin<Project> {
                         moduleInfoFile = new File(srcDirSet, "java9/module-info.java");
                     }
                     if (moduleInfoFile.exists()) {
-                        ModuleInfo moduleInfo = new ModuleInfo(project.getProviders()
-                                .fileContents(project.getLayout()
-                                        .getProjectDirectory()
-                                        .file(moduleInfoFile.getAbsolutePath()))
-                                .getAsText()
-                                .get());
+                        ModuleInfo moduleInfo = javaModuleDependencies
+                                .getModuleInfoCache()
+                                .get()
+                                .get(moduleInfoFile.getParentFile(), project.getProviders());
                         t.getEntries()
                                 .addAll(collectCatalogEntriesFromModuleInfos(
                                         javaModuleDependencies, moduleInfo.get(REQUIRES_TRANSITIVE)));
@@ -1,44 +1,52 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.gradlex.javamodule.dependencies;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Properties;
 import org.jspecify.annotations.NullMarked;
-import org.jspecify.annotations.Nullable;
 
+/**
+ * The Module Name to GA mappings shipped with the plugin. They are maintained in 'module-maven.properties' and
+ * 'modules.properties' and compiled into a binary table when the plugin is built (see 'generateSharedMappings' in
+ * the build script). The table contains all strings once, sorted, followed by the mappings as pairs of indices
+ * into the strings. The {@link #FORMAT_VERSION} is read from this file by the build script.
+ */
 @NullMarked
 public final class SharedMappings {
-    public static Map<String, String> mappings = loadModuleNameToGAProperties();
+    private static final String TABLE = "shared-mappings.bin";
+    private static final int FORMAT_VERSION = 1;
 
-    static Map<String, String> loadModuleNameToGAProperties() {
-        Properties properties = new Properties() {
-            @Override
-            public synchronized @Nullable Object put(Object key, Object value) {
-                if (get(key) != null) {
-                    throw new IllegalArgumentException(key + " already present.");
-                }
-                return super.put(key, value);
-            }
-        };
-        @SuppressWarnings({"unchecked", "rawtypes"})
-        Map<String, String> propertiesAsMap = (Map) properties;
+    public static final Map<String, String> mappings = Collections.unmodifiableMap(loadModuleNameToGAProperties());
 
-        try (InputStream coordinatesFile =
-                JavaModuleDependenciesExtension.class.getResourceAsStream("module-maven.properties")) {
-            properties.load(coordinatesFile);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+    static Map<String, String> loadModuleNameToGAProperties() {
+        InputStream table = SharedMappings.class.getResourceAsStream(TABLE);
+        if (table == null) {
+            throw new IllegalStateException(TABLE + " not found");
         }
-
-        try (InputStream coordinatesFile =
-                JavaModuleDependenciesExtension.class.getResourceAsStream("modules.properties")) {
-            properties.load(coordinatesFile);
+        // the table is decoded while it is read through a single buffer
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(table, 1 << 16))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported " + TABLE + " version: " + version);
+            }
+            String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.readUTF();
+            }
+            int size = in.readInt();
+            Map<String, String> mappings = new LinkedHashMap<>(size * 4 / 3 + 1);
+            for (int i = 0; i < size; i++) {
+                mappings.put(strings[in.readInt()], strings[in.readInt()]);
+            }
+            return mappings;
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
-        return propertiesAsMap;
     }
 
     private SharedMappings() {}
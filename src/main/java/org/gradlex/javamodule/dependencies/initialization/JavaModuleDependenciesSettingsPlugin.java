@@ -2,9 +2,12 @@
 package org.gradlex.javamodule.dependencies.initialization;
 
 import org.gradle.api.GradleException;
+import org.gradle.api.IsolatedAction;
 import org.gradle.api.Plugin;
+import org.gradle.api.Project;
 import org.gradle.api.initialization.Settings;
 import org.gradle.util.GradleVersion;
+import org.gradlex.javamodule.dependencies.internal.utils.MappingStatistics;
 import org.jspecify.annotations.NullMarked;
 
 @NullMarked
@@ -16,10 +19,25 @@ public abstract class JavaModuleDependenciesSettingsPlugin implements Plugin<Set
             throw new GradleException("This settings plugin requires Gradle 8.8+");
         }
         registerExtension(settings);
+        settings.getGradle().getLifecycle().beforeProject(new RegisterMappingStatisticsAction());
     }
 
     private void registerExtension(Settings settings) {
         settings.getExtensions().create("rootPlugins", RootPluginsExtension.class, settings);
         settings.getExtensions().create("javaModules", JavaModulesExtension.class, settings);
     }
+
+    /**
+     * Registers the mapping statistics in the root project, so that the report location is taken from the build
+     * directory of the root project.
+     */
+    private static class RegisterMappingStatisticsAction implements IsolatedAction<Project> {
+
+        @Override
+        public void execute(Project project) {
+            if (project == project.getRootProject()) {
+                MappingStatistics.registerIfEnabled(project, project.getProviders());
+            }
+        }
+    }
 }
@@ -4,6 +4,7 @@ package org.gradlex.javamodule.dependencies.initialization;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
 import org.gradle.api.Action;
 import org.gradle.api.IsolatedAction;
@@ -30,7 +31,7 @@ import org.jspecify.annotations.Nullable;
 public abstract class JavaModulesExtension {
 
     private final Settings settings;
-    private final ModuleInfoCache moduleInfoCache;
+    private final Provider<ModuleInfoCache> moduleInfoCache;
     private final List<ModuleProject> moduleProjects = new ArrayList<>();
 
     @Inject
@@ -42,8 +43,12 @@ public abstract class JavaModulesExtension {
     @Inject
     public JavaModulesExtension(Settings settings) {
         this.settings = settings;
-        this.moduleInfoCache = getObjects().newInstance(ModuleInfoCache.class, true);
-        settings.getGradle().getLifecycle().beforeProject(new ApplyPluginsAction(moduleProjects, moduleInfoCache));
+        this.moduleInfoCache =
+                ModuleInfoCache.register(settings.getGradle(), settings.getRootDir(), settings.getProviders(), true);
+        settings.getGradle()
+                .getLifecycle()
+                .beforeProject(new ApplyPluginsAction(moduleProjects, settings.getRootDir()));
+        settings.getGradle().settingsEvaluated(s -> moduleInfoCache.get().computeWiring());
     }
 
     /**
@@ -95,9 +100,6 @@ public abstract class JavaModulesExtension {
         Directory moduleDirectory = getObjects().newInstance(Directory.class, modulesDirectory);
         action.execute(moduleDirectory);
 
-        for (Module module : moduleDirectory.customizedModules.values()) {
-            includeModule(module, module.directory, false);
-        }
         Provider<List<String>> listProvider = getProviders().of(ValueModuleDirectoryListing.class, spec -> {
             spec.getParameters().getExclusions().set(moduleDirectory.getExclusions());
             spec.getParameters().getExplicitlyConfiguredFolders().set(moduleDirectory.customizedModules.keySet());
@@ -105,13 +107,37 @@ public abstract class JavaModulesExtension {
             spec.getParameters().getRequiresBuildFile().set(moduleDirectory.getRequiresBuildFile());
         });
 
+        List<Module> discoveredModules = new ArrayList<>();
         for (String projectDir : listProvider.get()) {
             Module module = moduleDirectory.addModule(projectDir);
             if (!module.getModuleInfoPaths().get().isEmpty()) {
                 // only auto-include if there is at least one module-info.java
-                includeModule(module, new File(modulesDirectory, projectDir), false);
+                discoveredModules.add(module);
             }
         }
+
+        List<File> moduleInfoFolders = new ArrayList<>();
+        for (Module module : moduleDirectory.customizedModules.values()) {
+            moduleInfoFolders.addAll(moduleInfoFolders(module));
+        }
+        for (Module module : discoveredModules) {
+            moduleInfoFolders.addAll(moduleInfoFolders(module));
+        }
+
+        moduleInfoCache.get().putInParallel(moduleInfoFolders, getProviders(), () -> {
+            for (Module module : moduleDirectory.customizedModules.values()) {
+                includeModule(module, module.directory, false);
+            }
+            for (Module module : discoveredModules) {
+                includeModule(module, module.directory, false);
+            }
+        });
+    }
+
+    private List<File> moduleInfoFolders(Module module) {
+        return module.getModuleInfoPaths().get().stream()
+                .map(moduleInfoPath -> new File(module.directory, moduleInfoPath))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -144,7 +170,7 @@ public abstract class JavaModulesExtension {
         String mainModuleName = null;
         if (!definesVersions) {
             for (String moduleInfoPath : module.getModuleInfoPaths().get()) {
-                ModuleInfo moduleInfo = moduleInfoCache.put(
+                ModuleInfo moduleInfo = moduleInfoCache.get().put(
                         project.getProjectDir(),
                         moduleInfoPath,
                         project.getPath(),
@@ -186,11 +212,11 @@ public abstract class JavaModulesExtension {
     private static class ApplyPluginsAction implements IsolatedAction<Project> {
 
         private final List<ModuleProject> moduleProjects;
-        private final ModuleInfoCache moduleInfoCache;
+        private final File rootDir;
 
-        public ApplyPluginsAction(List<ModuleProject> moduleProjects, ModuleInfoCache moduleInfoCache) {
+        public ApplyPluginsAction(List<ModuleProject> moduleProjects, File rootDir) {
             this.moduleProjects = moduleProjects;
-            this.moduleInfoCache = moduleInfoCache;
+            this.rootDir = rootDir;
         }
 
         @Override
@@ -209,7 +235,8 @@ public abstract class JavaModulesExtension {
                         project.getExtensions()
                                 .getByType(JavaModuleDependenciesExtension.class)
                                 .getModuleInfoCache()
-                                .set(moduleInfoCache);
+                                .set(ModuleInfoCache.register(
+                                        project.getGradle(), rootDir, project.getProviders(), true));
                     }
                     m.plugins.forEach(id -> project.getPlugins().apply(id));
                     if (m.mainModuleName != null) {
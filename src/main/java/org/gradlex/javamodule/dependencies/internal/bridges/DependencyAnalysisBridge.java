@@ -9,6 +9,8 @@ import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.tasks.SourceSetContainer;
 import org.gradle.api.tasks.TaskContainer;
 import org.gradle.api.tasks.TaskProvider;
+import org.gradlex.javamodule.dependencies.internal.utils.JarDescriptors;
+import org.gradlex.javamodule.dependencies.internal.utils.PersistentJarDescriptorCache;
 import org.gradlex.javamodule.dependencies.tasks.ModuleDirectivesOrderingCheck;
 import org.gradlex.javamodule.dependencies.tasks.ModuleDirectivesScopeCheck;
 import org.jspecify.annotations.NullMarked;
@@ -23,10 +25,13 @@ public class DependencyAnalysisBridge {
         SourceSetContainer sourceSets = project.getExtensions().getByType(SourceSetContainer.class);
 
         TaskProvider<ModuleDirectivesScopeCheck> checkModuleDirectivesScope =
-                tasks.register("checkModuleDirectivesScope", ModuleDirectivesScopeCheck.class, t -> t.getReport()
-                        .convention(project.getLayout()
-                                .getBuildDirectory()
-                                .file("reports/module-info-analysis/scopes.txt")));
+                tasks.register("checkModuleDirectivesScope", ModuleDirectivesScopeCheck.class, t -> {
+                    t.getReport()
+                            .convention(project.getLayout()
+                                    .getBuildDirectory()
+                                    .file("reports/module-info-analysis/scopes.txt"));
+                    PersistentJarDescriptorCache.configure(t.getJarDescriptorCache(), project);
+                });
 
         sourceSets.all(sourceSet -> checkModuleDirectivesScope.configure(t -> {
             File moduleInfo =
@@ -44,6 +49,8 @@ public class DependencyAnalysisBridge {
                     .add(project.provider(() -> cpClasspath.getIncoming().getArtifacts()));
             t.getModuleArtifacts()
                     .add(project.provider(() -> rtClasspath.getIncoming().getArtifacts()));
+            t.getModuleDescriptors().add(project.provider(() -> JarDescriptors.descriptorArtifacts(cpClasspath)));
+            t.getModuleDescriptors().add(project.provider(() -> JarDescriptors.descriptorArtifacts(rtClasspath)));
         }));
 
         project.getExtensions()
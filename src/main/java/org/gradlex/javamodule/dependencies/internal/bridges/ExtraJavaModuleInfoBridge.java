@@ -18,9 +18,21 @@ public class ExtraJavaModuleInfoBridge {
                 project.getExtensions().getByType(ExtraJavaModuleInfoPluginExtension.class);
         javaModuleDependencies
                 .getModuleNameToGA()
-                .putAll(extraJavaModuleInfo.getModuleSpecs().map(moduleSpecs -> moduleSpecs.entrySet().stream()
-                        .collect(Collectors.toMap(
-                                ExtraJavaModuleInfoBridge::moduleNameKey, Map.Entry::getKey, (a, b) -> b))));
+                .putAll(extraJavaModuleInfo.getModuleSpecs().map(ExtraJavaModuleInfoBridge::toMappings));
+    }
+
+    /**
+     * @return the mappings registered by {@link #autoRegisterPatchedModuleMappings}
+     */
+    public static Map<String, String> patchedModuleMappings(Project project) {
+        ExtraJavaModuleInfoPluginExtension extraJavaModuleInfo =
+                project.getExtensions().getByType(ExtraJavaModuleInfoPluginExtension.class);
+        return toMappings(extraJavaModuleInfo.getModuleSpecs().get());
+    }
+
+    private static Map<String, String> toMappings(Map<String, ModuleSpec> moduleSpecs) {
+        return moduleSpecs.entrySet().stream()
+                .collect(Collectors.toMap(ExtraJavaModuleInfoBridge::moduleNameKey, Map.Entry::getKey, (a, b) -> b));
     }
 
     private static String moduleNameKey(Map.Entry<String, ModuleSpec> entry) {
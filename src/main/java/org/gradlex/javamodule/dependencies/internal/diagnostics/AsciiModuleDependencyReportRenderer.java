@@ -4,9 +4,13 @@ package org.gradlex.javamodule.dependencies.internal.diagnostics;
 import static java.util.Objects.requireNonNull;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import org.gradle.api.artifacts.ArtifactCollection;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
 import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.file.Directory;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.diagnostics.internal.ConfigurationDetails;
 import org.gradle.api.tasks.diagnostics.internal.ProjectDetails;
@@ -17,6 +21,7 @@ import org.gradle.api.tasks.diagnostics.internal.graph.nodes.RenderableDependenc
 import org.gradle.api.tasks.diagnostics.internal.graph.nodes.RenderableModuleResult;
 import org.gradle.internal.graph.GraphRenderer;
 import org.gradle.internal.logging.text.StyledTextOutput;
+import org.gradlex.javamodule.dependencies.internal.utils.JarDescriptors;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
@@ -25,9 +30,16 @@ public class AsciiModuleDependencyReportRenderer extends AsciiDependencyReportRe
 
     private @Nullable DependencyGraphsRenderer dependencyGraphRenderer;
     private final Provider<Map<String, ArtifactCollection>> resolvedJars;
+    private final Provider<Map<String, ArtifactCollection>> jarDescriptors;
+    private final Provider<Directory> jarDescriptorCache;
 
-    public AsciiModuleDependencyReportRenderer(Provider<Map<String, ArtifactCollection>> resolvedJars) {
+    public AsciiModuleDependencyReportRenderer(
+            Provider<Map<String, ArtifactCollection>> resolvedJars,
+            Provider<Map<String, ArtifactCollection>> jarDescriptors,
+            Provider<Directory> jarDescriptorCache) {
         this.resolvedJars = resolvedJars;
+        this.jarDescriptors = jarDescriptors;
+        this.jarDescriptorCache = jarDescriptorCache;
     }
 
     @Override
@@ -43,8 +55,18 @@ public class AsciiModuleDependencyReportRenderer extends AsciiDependencyReportRe
         if (configuration.isCanBeResolved()) {
             ResolvedComponentResult result =
                     requireNonNull(configuration.getResolutionResultRoot()).get();
+            // index once: the Jar of each node of the graph is looked up by its component
+            Map<ComponentIdentifier, ResolvedArtifactResult> jarsByComponent = new HashMap<>();
+            for (ResolvedArtifactResult jar : resolvedJars.get().get(configuration.getName()).getArtifacts()) {
+                jarsByComponent.putIfAbsent(jar.getId().getComponentIdentifier(), jar);
+            }
             RenderableModuleResult root = new RenderableJavaModuleResult(
-                    result, resolvedJars.get().get(configuration.getName()).getArtifacts());
+                    result,
+                    jarsByComponent,
+                    new JarDescriptors(
+                            Collections.singletonList(
+                                    jarDescriptors.get().get(configuration.getName())),
+                            jarDescriptorCache.map(Directory::getAsFile).getOrNull()));
             renderNow(root);
         } else {
             renderNow(requireNonNull(configuration.getUnresolvableResult()));
@@ -2,7 +2,9 @@
 package org.gradlex.javamodule.dependencies.internal.diagnostics;
 
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
 import org.gradle.api.artifacts.result.DependencyResult;
 import org.gradle.api.artifacts.result.ResolvedArtifactResult;
 import org.gradle.api.artifacts.result.ResolvedComponentResult;
@@ -11,16 +13,22 @@ import org.gradle.api.artifacts.result.UnresolvedDependencyResult;
 import org.gradle.api.tasks.diagnostics.internal.graph.nodes.RenderableDependency;
 import org.gradle.api.tasks.diagnostics.internal.graph.nodes.RenderableModuleResult;
 import org.gradle.api.tasks.diagnostics.internal.graph.nodes.RenderableUnresolvedDependencyResult;
+import org.gradlex.javamodule.dependencies.internal.utils.JarDescriptors;
 import org.jspecify.annotations.NullMarked;
 
 @NullMarked
 public class RenderableJavaModuleResult extends RenderableModuleResult {
 
-    private final Set<ResolvedArtifactResult> resolvedJars;
+    private final Map<ComponentIdentifier, ResolvedArtifactResult> resolvedJars;
+    private final JarDescriptors jarDescriptors;
 
-    public RenderableJavaModuleResult(ResolvedComponentResult module, Set<ResolvedArtifactResult> resolvedJars) {
+    public RenderableJavaModuleResult(
+            ResolvedComponentResult module,
+            Map<ComponentIdentifier, ResolvedArtifactResult> resolvedJars,
+            JarDescriptors jarDescriptors) {
         super(module);
         this.resolvedJars = resolvedJars;
+        this.jarDescriptors = jarDescriptors;
     }
 
     @Override
@@ -30,7 +38,8 @@ public class RenderableJavaModuleResult extends RenderableModuleResult {
             if (d instanceof UnresolvedDependencyResult) {
                 out.add(new RenderableUnresolvedDependencyResult((UnresolvedDependencyResult) d));
             } else {
-                out.add(new RenderableModuleDependencyResult((ResolvedDependencyResult) d, resolvedJars));
+                out.add(new RenderableModuleDependencyResult(
+                        (ResolvedDependencyResult) d, resolvedJars, jarDescriptors));
             }
         }
         return out;
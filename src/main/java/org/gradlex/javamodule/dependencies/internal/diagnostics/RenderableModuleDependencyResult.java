@@ -1,11 +1,9 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.gradlex.javamodule.dependencies.internal.diagnostics;
 
-import static org.gradlex.javamodule.dependencies.internal.utils.ModuleJar.isRealModule;
-import static org.gradlex.javamodule.dependencies.internal.utils.ModuleJar.readModuleNameFromJarFile;
-
 import java.io.IOException;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import org.gradle.api.artifacts.component.ComponentIdentifier;
 import org.gradle.api.artifacts.component.ComponentSelector;
@@ -18,18 +16,26 @@ import org.gradle.api.artifacts.result.UnresolvedDependencyResult;
 import org.gradle.api.tasks.diagnostics.internal.graph.nodes.RenderableDependency;
 import org.gradle.api.tasks.diagnostics.internal.graph.nodes.RenderableDependencyResult;
 import org.gradle.api.tasks.diagnostics.internal.graph.nodes.RenderableUnresolvedDependencyResult;
+import org.gradlex.javamodule.dependencies.internal.utils.JarDescriptor;
+import org.gradlex.javamodule.dependencies.internal.utils.JarDescriptors;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 @NullMarked
 public class RenderableModuleDependencyResult extends RenderableDependencyResult {
     private final ResolvedDependencyResult dependency;
-    private final Set<ResolvedArtifactResult> resolvedJars;
+    private final Map<ComponentIdentifier, ResolvedArtifactResult> resolvedJars;
+    private final JarDescriptors jarDescriptors;
+    private @Nullable String name;
 
     public RenderableModuleDependencyResult(
-            ResolvedDependencyResult dependency, Set<ResolvedArtifactResult> resolvedJars) {
+            ResolvedDependencyResult dependency,
+            Map<ComponentIdentifier, ResolvedArtifactResult> resolvedJars,
+            JarDescriptors jarDescriptors) {
         super(dependency);
         this.dependency = dependency;
         this.resolvedJars = resolvedJars;
+        this.jarDescriptors = jarDescriptors;
     }
 
     @Override
@@ -40,12 +46,9 @@ public class RenderableModuleDependencyResult extends RenderableDependencyResult
                 out.add(new RenderableUnresolvedDependencyResult((UnresolvedDependencyResult) d));
             } else {
                 ResolvedDependencyResult resolved = (ResolvedDependencyResult) d;
-                resolvedJars.stream()
-                        .filter(a -> a.getId()
-                                .getComponentIdentifier()
-                                .equals(resolved.getSelected().getId()))
-                        .findFirst()
-                        .ifPresent(artifact -> out.add(new RenderableModuleDependencyResult(resolved, resolvedJars)));
+                if (resolvedJars.containsKey(resolved.getSelected().getId())) {
+                    out.add(new RenderableModuleDependencyResult(resolved, resolvedJars, jarDescriptors));
+                }
             }
         }
         return out;
@@ -53,18 +56,23 @@ public class RenderableModuleDependencyResult extends RenderableDependencyResult
 
     @Override
     public String getName() {
+        if (name == null) {
+            name = computeName();
+        }
+        return name;
+    }
+
+    private String computeName() {
         ComponentSelector requested = getRequested();
         ComponentIdentifier selected = getActual();
-        ResolvedArtifactResult artifact = resolvedJars.stream()
-                .filter(a -> a.getId().getComponentIdentifier().equals(selected))
-                .findFirst()
-                .orElse(null);
+        ResolvedArtifactResult artifact = resolvedJars.get(selected);
 
         try {
             if (artifact == null) {
                 return "[BOM] " + selected.getDisplayName();
             } else {
-                String actualModuleName = readModuleNameFromJarFile(artifact.getFile());
+                JarDescriptor jar = jarDescriptors.get(artifact);
+                String actualModuleName = jar.getModuleName();
                 if (actualModuleName == null) {
                     return "[CLASSPATH] " + selected.getDisplayName();
                 } else {
@@ -84,7 +92,7 @@ public class RenderableModuleDependencyResult extends RenderableDependencyResult
                                 .getModuleIdentifier()
                                 .toString();
                     }
-                    String auto = isRealModule(artifact.getFile()) ? "" : "[AUTO] ";
+                    String auto = jar.isRealModule() ? "" : "[AUTO] ";
                     return auto + actualModuleName + version + " | " + coordinates
                             + (isConstraint() ? "" : " | " + jarName);
                 }
@@ -0,0 +1,136 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.internal.utils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * What is known about a Jar (or class folder) on the Module Path after inspecting it once with
+ * {@link ModuleJar#inspect(java.io.File)}.
+ */
+@NullMarked
+public final class JarDescriptor {
+    static final JarDescriptor NOT_A_MODULE =
+            new JarDescriptor(null, false, false, Collections.emptyMap(), Collections.emptySet());
+
+    private final @Nullable String moduleName;
+    private final boolean realModule;
+    private final boolean multiRelease;
+    private final Map<String, String> manifestAttributes;
+    private final @Nullable Supplier<Set<String>> packagesScan;
+    private volatile @Nullable Set<String> packages;
+
+    JarDescriptor(
+            @Nullable String moduleName,
+            boolean realModule,
+            boolean multiRelease,
+            Map<String, String> manifestAttributes,
+            Set<String> packages) {
+        this.moduleName = moduleName;
+        this.realModule = realModule;
+        this.multiRelease = multiRelease;
+        this.manifestAttributes = manifestAttributes;
+        this.packagesScan = null;
+        this.packages = packages;
+    }
+
+    /**
+     * For class folders, whose packages are only collected if {@link #getPackages()} is called, as that requires
+     * walking the complete folder.
+     */
+    JarDescriptor(@Nullable String moduleName, boolean realModule, Supplier<Set<String>> packagesScan) {
+        this.moduleName = moduleName;
+        this.realModule = realModule;
+        this.multiRelease = false;
+        this.manifestAttributes = Collections.emptyMap();
+        this.packagesScan = packagesScan;
+    }
+
+    /**
+     * @return the 'Automatic-Module-Name' or the name in the 'module-info.class', null if the Jar is not a module
+     */
+    public @Nullable String getModuleName() {
+        return moduleName;
+    }
+
+    /**
+     * @return true if the Jar contains a 'module-info.class', false for automatic modules and non-modules
+     */
+    public boolean isRealModule() {
+        return realModule;
+    }
+
+    public boolean isMultiRelease() {
+        return multiRelease;
+    }
+
+    /**
+     * @return the main attributes of the Jar's manifest, empty if there is no manifest
+     */
+    public Map<String, String> getManifestAttributes() {
+        return manifestAttributes;
+    }
+
+    /**
+     * @return the (sorted) names of all packages that contain classes
+     */
+    public Set<String> getPackages() {
+        Set<String> result = packages;
+        if (result == null) {
+            result = Objects.requireNonNull(packagesScan).get();
+            packages = result;
+        }
+        return result;
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeBoolean(moduleName != null);
+        if (moduleName != null) {
+            out.writeUTF(moduleName);
+        }
+        out.writeBoolean(realModule);
+        out.writeBoolean(multiRelease);
+        out.writeInt(manifestAttributes.size());
+        for (Map.Entry<String, String> attribute : manifestAttributes.entrySet()) {
+            out.writeUTF(attribute.getKey());
+            out.writeUTF(attribute.getValue());
+        }
+        Set<String> packages = getPackages();
+        out.writeInt(packages.size());
+        for (String packageName : packages) {
+            out.writeUTF(packageName);
+        }
+    }
+
+    static JarDescriptor readFrom(DataInputStream in) throws IOException {
+        String moduleName = in.readBoolean() ? in.readUTF() : null;
+        boolean realModule = in.readBoolean();
+        boolean multiRelease = in.readBoolean();
+        int attributesCount = in.readInt();
+        Map<String, String> manifestAttributes = new LinkedHashMap<>();
+        for (int i = 0; i < attributesCount; i++) {
+            manifestAttributes.put(in.readUTF(), in.readUTF());
+        }
+        int packagesCount = in.readInt();
+        Set<String> packages = new LinkedHashSet<>();
+        for (int i = 0; i < packagesCount; i++) {
+            packages.add(in.readUTF());
+        }
+        return new JarDescriptor(
+                moduleName,
+                realModule,
+                multiRelease,
+                Collections.unmodifiableMap(manifestAttributes),
+                Collections.unmodifiableSet(packages));
+    }
+}
@@ -0,0 +1,37 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.internal.utils;
+
+import java.io.File;
+import java.io.IOException;
+import org.gradle.api.artifacts.transform.InputArtifact;
+import org.gradle.api.artifacts.transform.TransformAction;
+import org.gradle.api.artifacts.transform.TransformOutputs;
+import org.gradle.api.artifacts.transform.TransformParameters;
+import org.gradle.api.file.FileSystemLocation;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Inspects a Jar and writes its {@link JarDescriptor} to a small sidecar file. Gradle keeps the result in its
+ * transforms cache, so that each Jar is only inspected once – across builds and projects.
+ */
+@NullMarked
+public abstract class JarDescriptorTransform implements TransformAction<TransformParameters.None> {
+
+    @InputArtifact
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract Provider<FileSystemLocation> getInputArtifact();
+
+    @Override
+    public void transform(TransformOutputs outputs) {
+        File jar = getInputArtifact().get().getAsFile();
+        File descriptor = outputs.file(jar.getName() + JarDescriptors.FILE_SUFFIX);
+        try {
+            JarDescriptors.write(ModuleJar.inspect(jar), descriptor);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.internal.utils;
+
+import static org.gradle.api.artifacts.type.ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE;
+import static org.gradle.api.artifacts.type.ArtifactTypeDefinition.JAR_TYPE;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.gradle.api.artifacts.ArtifactCollection;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.dsl.DependencyHandler;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.workers.WorkQueue;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The {@link JarDescriptor}s for the Jars of a resolved classpath. For Jars of Modules from repositories, the
+ * descriptors are produced by the {@link JarDescriptorTransform}. Jars and class folders of local projects, which
+ * change frequently, and artifacts the transform does not apply to are inspected directly.
+ */
+@NullMarked
+public final class JarDescriptors {
+    public static final String ARTIFACT_TYPE = "java-module-descriptor";
+    static final String FILE_SUFFIX = ".module-descriptor";
+
+    private final Map<ComponentIdentifier, Map<String, File>> descriptorFiles = new HashMap<>();
+    private final @Nullable File cacheDir;
+    private final Map<File, JarDescriptor> loaded = new HashMap<>();
+
+    /**
+     * @param descriptors the result of {@link #descriptorArtifacts(Configuration)} for the classpaths to look at
+     * @param cacheDir location of the {@link PersistentJarDescriptorCache}; null if the cache is disabled
+     */
+    public JarDescriptors(Collection<ArtifactCollection> descriptors, @Nullable File cacheDir) {
+        this.cacheDir = cacheDir;
+        for (ArtifactCollection collection : descriptors) {
+            for (ResolvedArtifactResult descriptor : collection.getArtifacts()) {
+                String name = descriptor.getFile().getName();
+                if (name.endsWith(FILE_SUFFIX)) {
+                    descriptorFiles
+                            .computeIfAbsent(descriptor.getId().getComponentIdentifier(), id -> new HashMap<>())
+                            .put(name.substring(0, name.length() - FILE_SUFFIX.length()), descriptor.getFile());
+                }
+            }
+        }
+    }
+
+    public static void registerTransform(DependencyHandler dependencies) {
+        dependencies.registerTransform(JarDescriptorTransform.class, spec -> {
+            spec.getFrom().attribute(ARTIFACT_TYPE_ATTRIBUTE, JAR_TYPE);
+            spec.getTo().attribute(ARTIFACT_TYPE_ATTRIBUTE, ARTIFACT_TYPE);
+        });
+    }
+
+    /**
+     * @return the descriptors for the Jars of Modules from repositories in the given classpath
+     */
+    public static ArtifactCollection descriptorArtifacts(Configuration classpath) {
+        return classpath
+                .getIncoming()
+                .artifactView(v -> {
+                    // artifacts without descriptor are inspected directly
+                    v.setLenient(true);
+                    v.componentFilter(id -> id instanceof ModuleComponentIdentifier);
+                    v.getAttributes().attribute(ARTIFACT_TYPE_ATTRIBUTE, ARTIFACT_TYPE);
+                })
+                .getArtifacts();
+    }
+
+    /**
+     * @return the descriptor of the given Jar, which is loaded only once if it is requested several times
+     */
+    public JarDescriptor get(ResolvedArtifactResult jar) throws IOException {
+        JarDescriptor loadedDescriptor = loaded.get(jar.getFile());
+        if (loadedDescriptor != null) {
+            return loadedDescriptor;
+        }
+        File descriptor = descriptorFile(jar);
+        JarDescriptor jarDescriptor = descriptor == null ? ModuleJar.inspect(jar.getFile(), cacheDir) : read(descriptor);
+        loaded.put(jar.getFile(), jarDescriptor);
+        return jarDescriptor;
+    }
+
+    /**
+     * Like {@link #get(ResolvedArtifactResult)} for many Jars at once. Each Jar is only inspected once, even if it is
+     * listed several times. Jars for which no descriptor was produced by the transform are inspected in parallel by
+     * the given work queue, which writes the results to the given temporary folder. Class folders are inspected
+     * directly, so that their packages are only collected if they are used.
+     *
+     * @return the descriptors by Jar file
+     */
+    public Map<File, JarDescriptor> getAll(Collection<ResolvedArtifactResult> jars, WorkQueue workQueue, File tmpDir)
+            throws IOException {
+        Map<File, File> descriptors = new LinkedHashMap<>();
+        Map<File, JarDescriptor> classFolders = new HashMap<>();
+        for (ResolvedArtifactResult jar : jars) {
+            File jarFile = jar.getFile();
+            if (descriptors.containsKey(jarFile) || classFolders.containsKey(jarFile)) {
+                continue;
+            }
+            if (jarFile.isDirectory()) {
+                classFolders.put(jarFile, ModuleJar.inspect(jarFile));
+                continue;
+            }
+            File descriptor = descriptorFile(jar);
+            if (descriptor == null) {
+                descriptor = new File(tmpDir, descriptors.size() + FILE_SUFFIX);
+                File output = descriptor;
+                workQueue.submit(JarInspection.class, p -> {
+                    p.getJarFileOrClassFolder().set(jarFile);
+                    p.getCacheDir().fileValue(cacheDir);
+                    p.getDescriptor().set(output);
+                });
+            }
+            descriptors.put(jarFile, descriptor);
+        }
+        workQueue.await();
+
+        Map<File, JarDescriptor> result = new HashMap<>((descriptors.size() + classFolders.size()) * 4 / 3 + 1);
+        result.putAll(classFolders);
+        for (Map.Entry<File, File> entry : descriptors.entrySet()) {
+            result.put(entry.getKey(), read(entry.getValue()));
+        }
+        return result;
+    }
+
+    private @Nullable File descriptorFile(ResolvedArtifactResult jar) {
+        Map<String, File> files = descriptorFiles.get(jar.getId().getComponentIdentifier());
+        return files == null ? null : files.get(jar.getFile().getName());
+    }
+
+    static JarDescriptor read(File descriptor) throws IOException {
+        try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(descriptor.toPath())))) {
+            return JarDescriptor.readFrom(in);
+        }
+    }
+
+    static void write(JarDescriptor jarDescriptor, File descriptor) throws IOException {
+        try (DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(descriptor.toPath())))) {
+            jarDescriptor.writeTo(out);
+        }
+    }
+}
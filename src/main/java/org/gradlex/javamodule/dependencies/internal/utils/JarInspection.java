@@ -0,0 +1,44 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.internal.utils;
+
+import java.io.File;
+import java.io.IOException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Inspects one Jar as part of {@link JarDescriptors#getAll} and writes its {@link JarDescriptor}
+ * to a file, as a work item cannot return a result.
+ */
+@NullMarked
+public abstract class JarInspection implements WorkAction<JarInspection.Parameters> {
+
+    public interface Parameters extends WorkParameters {
+        Property<File> getJarFileOrClassFolder();
+
+        /**
+         * @return location of the {@link PersistentJarDescriptorCache}; not set if the cache is disabled
+         */
+        DirectoryProperty getCacheDir();
+
+        RegularFileProperty getDescriptor();
+    }
+
+    @Override
+    public void execute() {
+        Parameters parameters = getParameters();
+        try {
+            JarDescriptors.write(
+                    ModuleJar.inspect(
+                            parameters.getJarFileOrClassFolder().get(),
+                            parameters.getCacheDir().getAsFile().getOrNull()),
+                    parameters.getDescriptor().get().getAsFile());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.internal.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.gradle.api.Project;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.ProviderFactory;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.gradlex.javamodule.dependencies.SharedMappings;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counts how Module Names are resolved in a build – by which mapping source, how often nothing is found and how much
+ * time is spent – and writes a summary to 'reports/java-module-dependencies/mapping-statistics.txt' in the build
+ * directory of the root project at the end of the build. Enabled through the
+ * 'org.gradlex.java-module-dependencies.mapping-statistics' Gradle property.
+ */
+@NullMarked
+public abstract class MappingStatistics implements BuildService<MappingStatistics.Parameters>, AutoCloseable {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(MappingStatistics.class);
+
+    private static final String ENABLED_PROPERTY = "org.gradlex.java-module-dependencies.mapping-statistics";
+    private static final String REPORT = "reports/java-module-dependencies/mapping-statistics.txt";
+
+    public static final String JDK = "JDK";
+    public static final String LOCAL_MODULE = "local module";
+    public static final String MODULE_NAME_TO_GA = "moduleNameToGA";
+    public static final String MODULES_PROPERTIES = "modules.properties";
+    public static final String SHARED_MAPPINGS = "shared mappings";
+    public static final String EXTRA_JAVA_MODULE_INFO = "extra-java-module-info";
+    public static final String MODULE_NAME_PREFIX_TO_GROUP = "moduleNamePrefixToGroup";
+    public static final String MISS = "miss";
+
+    private final Map<String, Map<String, LongAdder>> hits = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> nanos = new ConcurrentHashMap<>();
+    private final Map<String, Sources> sources = new ConcurrentHashMap<>();
+
+    public interface Parameters extends BuildServiceParameters {
+        RegularFileProperty getReportFile();
+    }
+
+    /**
+     * The build directory of the root project can only be accessed from the root project itself, if projects are
+     * isolated. The settings plugin therefore registers the statistics when the root project is configured, which
+     * happens before its subprojects are configured. If a subproject registers them first, the default build
+     * directory ('build') of the root project is used.
+     *
+     * @param project the project that uses the statistics
+     * @return the statistics of the build the given project belongs to or null if they are not enabled
+     */
+    public static @Nullable Provider<MappingStatistics> registerIfEnabled(Project project, ProviderFactory providers) {
+        if (!Boolean.parseBoolean(providers.gradleProperty(ENABLED_PROPERTY).getOrElse("false"))) {
+            return null;
+        }
+        String name = MappingStatistics.class.getName() + "@" + project.getRootDir().getAbsolutePath();
+        return project.getGradle()
+                .getSharedServices()
+                .registerIfAbsent(name, MappingStatistics.class, spec -> spec.getParameters()
+                        .getReportFile()
+                        .set(reportFile(project)));
+    }
+
+    private static Provider<RegularFile> reportFile(Project project) {
+        if (project == project.getRootProject()) {
+            return project.getLayout().getBuildDirectory().file(REPORT);
+        }
+        File rootDir = project.getRootDir();
+        return project.getLayout().file(project.provider(() -> new File(rootDir, "build/" + REPORT)));
+    }
+
+    /**
+     * @param operation the method that resolved the Module Name, e.g. 'ga'
+     * @param source the mapping that was used, one of the constants of this class
+     * @param time the time spent in nanoseconds
+     */
+    public void record(String operation, String source, long time) {
+        hits.computeIfAbsent(source, s -> new ConcurrentHashMap<>())
+                .computeIfAbsent(operation, o -> new LongAdder())
+                .increment();
+        calls.computeIfAbsent(operation, o -> new LongAdder()).increment();
+        nanos.computeIfAbsent(operation, o -> new LongAdder()).add(time);
+    }
+
+    /**
+     * @param projectPath the project the sources belong to
+     * @param snapshot takes the snapshot of the sources; called only once per project and build
+     * @return the mapping sources of the given project
+     */
+    public Sources sources(String projectPath, Supplier<Sources> snapshot) {
+        return sources.computeIfAbsent(projectPath, p -> snapshot.get());
+    }
+
+    @Override
+    public void close() {
+        if (calls.isEmpty()) {
+            return;
+        }
+        File report = getParameters().getReportFile().get().getAsFile();
+        TreeSet<String> operations = new TreeSet<>(calls.keySet());
+        try {
+            Files.createDirectories(report.getParentFile().toPath());
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(report.toPath(), UTF_8))) {
+                out.println("Module Name resolution statistics");
+                out.println();
+                out.printf("%-24s%12s%12s%n", "Operation", "Calls", "Time (ms)");
+                for (String operation : operations) {
+                    out.printf(
+                            "%-24s%12d%12.1f%n",
+                            operation,
+                            calls.get(operation).sum(),
+                            nanos.get(operation).sum() / 1_000_000.0);
+                }
+                out.println();
+                out.printf("%-24s", "Source");
+                for (String operation : operations) {
+                    out.printf("%12s", operation);
+                }
+                out.println();
+                for (Map.Entry<String, Map<String, LongAdder>> source : new TreeMap<>(hits).entrySet()) {
+                    out.printf("%-24s", source.getKey());
+                    for (String operation : operations) {
+                        LongAdder count = source.getValue().get(operation);
+                        out.printf("%12d", count == null ? 0 : count.sum());
+                    }
+                    out.println();
+                }
+            }
+            LOGGER.lifecycle("[Java Module Dependencies] Mapping statistics: " + report.getAbsolutePath());
+        } catch (IOException e) {
+            LOGGER.warn("[Java Module Dependencies] Mapping statistics could not be written: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Snapshot of the mappings that are combined in the 'moduleNameToGA' of a project.
+     */
+    public static final class Sources {
+        private final Map<String, String> moduleNameToGA;
+        private final Map<String, String> modulesProperties;
+        private final Map<String, String> extraJavaModuleInfo;
+
+        public Sources(
+                Map<String, String> moduleNameToGA,
+                Map<String, String> modulesProperties,
+                Map<String, String> extraJavaModuleInfo) {
+            this.moduleNameToGA = moduleNameToGA;
+            this.modulesProperties = modulesProperties;
+            this.extraJavaModuleInfo = extraJavaModuleInfo;
+        }
+
+        /**
+         * @return which of the mappings defines the given Module Name; if several define the same coordinates, the
+         * one added last is reported
+         */
+        public String of(String moduleName) {
+            String ga = moduleNameToGA.get(moduleName);
+            if (ga == null) {
+                return MODULE_NAME_PREFIX_TO_GROUP;
+            }
+            if (ga.equals(extraJavaModuleInfo.get(moduleName))) {
+                return EXTRA_JAVA_MODULE_INFO;
+            }
+            if (ga.equals(modulesProperties.get(moduleName))) {
+                return MODULES_PROPERTIES;
+            }
+            if (ga.equals(SharedMappings.mappings.get(moduleName))) {
+                return SHARED_MAPPINGS;
+            }
+            return MODULE_NAME_TO_GA;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.gradlex.javamodule.dependencies.internal.utils;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.gradlex.javamodule.dependencies.internal.utils.ModuleNamingUtil.sourceSetToModuleName;
 
 import com.github.javaparser.JavaParser;
@@ -9,22 +10,45 @@ import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.expr.Name;
 import com.github.javaparser.ast.modules.ModuleDeclaration;
 import com.github.javaparser.ast.modules.ModuleDirective;
+import com.github.javaparser.ast.modules.ModuleExportsDirective;
+import com.github.javaparser.ast.modules.ModuleOpensDirective;
 import com.github.javaparser.ast.modules.ModuleProvidesDirective;
 import com.github.javaparser.ast.modules.ModuleRequiresDirective;
+import com.github.javaparser.ast.modules.ModuleUsesDirective;
 import com.github.javaparser.ast.nodeTypes.NodeWithIdentifier;
 import com.github.javaparser.ast.nodeTypes.NodeWithName;
+import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.RandomAccess;
 import java.util.stream.Collectors;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+/**
+ * Immutable result of parsing a module-info.java file.
+ * <p>
+ * All names (the module name, required modules, services and their implementations) are stored once in a table
+ * and are interned, so that the same names are shared by all ModuleInfo instances of a build. Directives only hold
+ * indices into that table. When serialized (e.g. into the configuration cache), only the table and the indices are
+ * written and the names are interned again when reading.
+ * <p>
+ * The 'exports', 'opens' and 'uses' directives are not needed to wire dependencies. They are kept as one compact
+ * String in source order (e.g. {@code exports a.b;exports a.c to m1,m2;opens a.d;uses a.Service;}) and only decoded
+ * when {@link #getExports()}, {@link #getOpens()} or {@link #getUses()} is called.
+ */
 @NullMarked
 public class ModuleInfo implements Serializable {
 
@@ -42,67 +66,190 @@ public class ModuleInfo implements Serializable {
 
     public static final String RUNTIME_KEYWORD = "/*runtime*/";
 
+    private static final int[] NONE = new int[0];
+
     public static final ModuleInfo EMPTY = new ModuleInfo("");
 
-    private final String moduleName;
-    private final Map<String, String> imports;
-    private final List<String> requires = new ArrayList<>();
-    private final List<String> requiresTransitive = new ArrayList<>();
-    private final List<String> requiresStatic = new ArrayList<>();
-    private final List<String> requiresStaticTransitive = new ArrayList<>();
-    private final List<String> requiresRuntime = new ArrayList<>();
-    private final Map<String, List<String>> provides = new LinkedHashMap<>();
+    // names[0] is the module name
+    private final String[] names;
+    // indices into 'names' per Directive.ordinal()
+    private final int[][] requires;
+    // per service: the service index, the number of implementations and the implementation indices
+    private final int[] provides;
+    private final String packageDirectives;
+    private transient volatile @Nullable PackageDirectives decodedPackageDirectives;
 
     public ModuleInfo(String moduleInfoFileContent) {
+        this(moduleInfoFileContent, true);
+    }
+
+    private ModuleInfo(String moduleInfoFileContent, boolean useScanner) {
+        this(parse(moduleInfoFileContent, useScanner));
+    }
+
+    private ModuleInfo(Parsed parsed) {
+        this(parsed.moduleName, parsed.requires, parsed.provides, parsed.packageDirectives.toString());
+    }
+
+    /**
+     * Creates a ModuleInfo from already parsed data, e.g. from the {@link PersistentModuleInfoCache}.
+     */
+    ModuleInfo(
+            String moduleName,
+            Map<Directive, List<String>> requires,
+            Map<String, List<String>> provides,
+            String packageDirectives) {
+        Map<String, Integer> table = new LinkedHashMap<>();
+        index(table, moduleName);
+        this.requires = new int[Directive.values().length][];
+        for (Directive directive : Directive.values()) {
+            List<String> names = requires.getOrDefault(directive, Collections.emptyList());
+            int[] indices = names.isEmpty() ? NONE : new int[names.size()];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = index(table, names.get(i));
+            }
+            this.requires[directive.ordinal()] = indices;
+        }
+        List<Integer> providesIndices = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : provides.entrySet()) {
+            providesIndices.add(index(table, entry.getKey()));
+            providesIndices.add(entry.getValue().size());
+            for (String implementation : entry.getValue()) {
+                providesIndices.add(index(table, implementation));
+            }
+        }
+        this.provides = providesIndices.stream().mapToInt(Integer::intValue).toArray();
+        this.names = table.keySet().stream().map(String::intern).toArray(String[]::new);
+        this.packageDirectives = packageDirectives;
+    }
+
+    private ModuleInfo(String[] names, int[][] requires, int[] provides, String packageDirectives) {
+        this.names = names;
+        this.requires = requires;
+        this.provides = provides;
+        this.packageDirectives = packageDirectives;
+    }
+
+    private static int index(Map<String, Integer> table, String name) {
+        return table.computeIfAbsent(name, n -> table.size());
+    }
+
+    /**
+     * Parse the module-info.java content with the full Java parser, without trying the {@link ModuleInfoScanner}
+     * first. Used to verify that both produce the same result.
+     */
+    public static ModuleInfo parseWithJavaParser(String moduleInfoFileContent) {
+        return new ModuleInfo(moduleInfoFileContent, false);
+    }
+
+    /**
+     * Reads a module-info.java file (UTF-8). The bytes are read from the file channel directly into the array that
+     * is decoded into the String, without intermediate buffers.
+     */
+    public static String readContent(File moduleInfoFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(moduleInfoFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            int read = 0;
+            while (buffer.hasRemaining() && read >= 0) {
+                read = channel.read(buffer);
+            }
+            return new String(buffer.array(), 0, buffer.position(), UTF_8);
+        }
+    }
+
+    private static Parsed parse(String moduleInfoFileContent, boolean useScanner) {
+        Parsed parsed = new Parsed();
+        ModuleInfoScanner scanner = new ModuleInfoScanner(moduleInfoFileContent);
+        if (useScanner && scanner.scan()) {
+            parsed.moduleName = scanner.getModuleName();
+            for (Directive directive : Directive.values()) {
+                parsed.requires.put(directive, scanner.get(directive));
+            }
+            parsed.provides.putAll(scanner.getProvides());
+            parsed.packageDirectives.append(scanner.getPackageDirectives());
+            return parsed;
+        }
+
         Optional<CompilationUnit> result =
                 new JavaParser().parse(moduleInfoFileContent).getResult();
         if (!result.isPresent() || !result.get().getModule().isPresent()) {
-            moduleName = "";
-            imports = Collections.emptyMap();
-            return;
+            return parsed;
         }
 
         ModuleDeclaration moduleDeclaration = result.get().getModule().get();
-        moduleName = moduleDeclaration.getNameAsString();
-        imports = processImports(result.get());
-        processDirectives(moduleDeclaration.getDirectives());
+        parsed.moduleName = moduleDeclaration.getNameAsString();
+        processDirectives(moduleDeclaration.getDirectives(), processImports(result.get()), parsed);
+        return parsed;
     }
 
-    private Map<String, String> processImports(CompilationUnit cu) {
+    private static Map<String, String> processImports(CompilationUnit cu) {
         return cu.getImports().stream()
                 .map(NodeWithName::getName)
                 .collect(Collectors.toMap(NodeWithIdentifier::getId, Node::toString));
     }
 
     public String getModuleName() {
-        return moduleName;
+        return names[0];
     }
 
     public List<String> get(Directive directive) {
-        if (directive == Directive.REQUIRES) {
-            return requires;
-        }
-        if (directive == Directive.REQUIRES_TRANSITIVE) {
-            return requiresTransitive;
-        }
-        if (directive == Directive.REQUIRES_STATIC) {
-            return requiresStatic;
-        }
-        if (directive == Directive.REQUIRES_STATIC_TRANSITIVE) {
-            return requiresStaticTransitive;
+        return new Names(names, requires[directive.ordinal()], 0, requires[directive.ordinal()].length);
+    }
+
+    public Map<String, List<String>> getProvides() {
+        if (provides.length == 0) {
+            return Collections.emptyMap();
         }
-        if (directive == Directive.REQUIRES_RUNTIME) {
-            return requiresRuntime;
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        int i = 0;
+        while (i < provides.length) {
+            int count = provides[i + 1];
+            result.put(names[provides[i]], new Names(names, provides, i + 2, count));
+            i += 2 + count;
         }
-        return Collections.emptyList();
+        return Collections.unmodifiableMap(result);
     }
 
-    public Map<String, List<String>> getProvides() {
-        return provides;
+    /**
+     * @return exported packages with the modules they are exported to (empty list for an unqualified export)
+     */
+    public Map<String, List<String>> getExports() {
+        return Collections.unmodifiableMap(packageDirectives().exports);
+    }
+
+    /**
+     * @return opened packages with the modules they are opened to (empty list for an unqualified opens)
+     */
+    public Map<String, List<String>> getOpens() {
+        return Collections.unmodifiableMap(packageDirectives().opens);
+    }
+
+    /**
+     * @return the services used by the module
+     */
+    public List<String> getUses() {
+        return Collections.unmodifiableList(packageDirectives().uses);
+    }
+
+    /**
+     * The compact form of the directives as stored in this ModuleInfo.
+     */
+    String getPackageDirectives() {
+        return packageDirectives;
+    }
+
+    private PackageDirectives packageDirectives() {
+        PackageDirectives result = decodedPackageDirectives;
+        if (result == null) {
+            result = new PackageDirectives(packageDirectives);
+            decodedPackageDirectives = result;
+        }
+        return result;
     }
 
     @Nullable
     public String moduleNamePrefix(String projectName, String sourceSetName, boolean fail) {
+        String moduleName = getModuleName();
         if (moduleName.equals(projectName)) {
             return "";
         }
@@ -125,31 +272,62 @@ public class ModuleInfo implements Serializable {
         return null;
     }
 
-    private void processDirectives(List<ModuleDirective> directives) {
+    private static void processDirectives(
+            List<ModuleDirective> directives, Map<String, String> imports, Parsed parsed) {
         for (ModuleDirective d : directives) {
             if (d instanceof ModuleRequiresDirective) {
                 ModuleRequiresDirective directive = (ModuleRequiresDirective) d;
                 String identifier = directive.getNameAsString();
                 if (directive.isStatic() && directive.isTransitive()) {
-                    requiresStaticTransitive.add(identifier);
+                    parsed.requires.get(Directive.REQUIRES_STATIC_TRANSITIVE).add(identifier);
                 } else if (directive.isTransitive()) {
-                    requiresTransitive.add(identifier);
+                    parsed.requires.get(Directive.REQUIRES_TRANSITIVE).add(identifier);
                 } else if (directive.isStatic()) {
-                    requiresStatic.add(identifier);
+                    parsed.requires.get(Directive.REQUIRES_STATIC).add(identifier);
                 } else if (isRuntime(directive)) {
-                    requiresRuntime.add(identifier);
+                    parsed.requires.get(Directive.REQUIRES_RUNTIME).add(identifier);
                 } else {
-                    requires.add(identifier);
+                    parsed.requires.get(Directive.REQUIRES).add(identifier);
                 }
             }
             if (d instanceof ModuleProvidesDirective) {
                 ModuleProvidesDirective directive = (ModuleProvidesDirective) d;
-                String name = qualifiedName(directive.getName());
-                List<String> with = provides.computeIfAbsent(name, k -> new ArrayList<>());
-                with.addAll(
-                        directive.getWith().stream().map(this::qualifiedName).collect(Collectors.toList()));
+                String name = qualifiedName(directive.getName(), imports);
+                List<String> with = parsed.provides.computeIfAbsent(name, k -> new ArrayList<>());
+                with.addAll(directive.getWith().stream()
+                        .map(n -> qualifiedName(n, imports))
+                        .collect(Collectors.toList()));
             }
+            if (d instanceof ModuleExportsDirective) {
+                ModuleExportsDirective directive = (ModuleExportsDirective) d;
+                appendPackageDirective("exports", directive.getName(), directive.getModuleNames(), parsed);
+            }
+            if (d instanceof ModuleOpensDirective) {
+                ModuleOpensDirective directive = (ModuleOpensDirective) d;
+                appendPackageDirective("opens", directive.getName(), directive.getModuleNames(), parsed);
+            }
+            if (d instanceof ModuleUsesDirective) {
+                String service = ((ModuleUsesDirective) d).getName().asString();
+                parsed.packageDirectives
+                        .append("uses ")
+                        .append(imports.getOrDefault(simpleName(service), service))
+                        .append(';');
+            }
+        }
+    }
+
+    private static void appendPackageDirective(String keyword, Name name, List<Name> to, Parsed parsed) {
+        parsed.packageDirectives.append(keyword).append(' ').append(name.asString());
+        if (!to.isEmpty()) {
+            parsed.packageDirectives
+                    .append(" to ")
+                    .append(to.stream().map(Name::asString).collect(Collectors.joining(",")));
         }
+        parsed.packageDirectives.append(';');
+    }
+
+    private static String simpleName(String name) {
+        return name.substring(name.lastIndexOf('.') + 1);
     }
 
     private static boolean isRuntime(ModuleRequiresDirective directive) {
@@ -160,7 +338,7 @@ public class ModuleInfo implements Serializable {
                 .orElse(false);
     }
 
-    private String qualifiedName(Name name) {
+    private static String qualifiedName(Name name, Map<String, String> imports) {
         if (imports.containsKey(name.getId())) {
             return imports.get(name.getId());
         } else {
@@ -173,17 +351,130 @@ public class ModuleInfo implements Serializable {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ModuleInfo that = (ModuleInfo) o;
-        return Objects.equals(moduleName, that.moduleName)
-                && Objects.equals(requires, that.requires)
-                && Objects.equals(requiresTransitive, that.requiresTransitive)
-                && Objects.equals(requiresStatic, that.requiresStatic)
-                && Objects.equals(requiresStaticTransitive, that.requiresStaticTransitive)
-                && Objects.equals(requiresRuntime, that.requiresRuntime);
+        if (!getModuleName().equals(that.getModuleName())) return false;
+        for (Directive directive : Directive.values()) {
+            if (!get(directive).equals(that.get(directive))) return false;
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(
-                moduleName, requires, requiresTransitive, requiresStatic, requiresStaticTransitive, requiresRuntime);
+        int result = getModuleName().hashCode();
+        for (Directive directive : Directive.values()) {
+            result = 31 * result + get(directive).hashCode();
+        }
+        return result;
+    }
+
+    private Object writeReplace() {
+        return new SerializedForm(names, requires, provides, packageDirectives, this == EMPTY);
+    }
+
+    /**
+     * Mutable state while parsing, turned into the compact representation at the end.
+     */
+    private static class Parsed {
+        String moduleName = "";
+        final Map<Directive, List<String>> requires = new EnumMap<>(Directive.class);
+        final Map<String, List<String>> provides = new LinkedHashMap<>();
+        final StringBuilder packageDirectives = new StringBuilder();
+
+        Parsed() {
+            for (Directive directive : Directive.values()) {
+                requires.put(directive, new ArrayList<>());
+            }
+        }
+    }
+
+    /**
+     * Read-only view on a range of indices into the name table.
+     */
+    private static class Names extends AbstractList<String> implements RandomAccess, Serializable {
+        private final String[] names;
+        private final int[] indices;
+        private final int offset;
+        private final int size;
+
+        Names(String[] names, int[] indices, int offset, int size) {
+            this.names = names;
+            this.indices = indices;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return names[indices[offset + index]];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Serialized form that restores the interned names and the identity of {@link #EMPTY}.
+     */
+    private static class SerializedForm implements Serializable {
+        private final String[] names;
+        private final int[][] requires;
+        private final int[] provides;
+        private final String packageDirectives;
+        private final boolean empty;
+
+        SerializedForm(String[] names, int[][] requires, int[] provides, String packageDirectives, boolean empty) {
+            this.names = names;
+            this.requires = requires;
+            this.provides = provides;
+            this.packageDirectives = packageDirectives;
+            this.empty = empty;
+        }
+
+        private Object readResolve() {
+            if (empty) {
+                return EMPTY;
+            }
+            String[] interned = new String[names.length];
+            for (int i = 0; i < names.length; i++) {
+                interned[i] = names[i].intern();
+            }
+            return new ModuleInfo(interned, requires, provides, packageDirectives);
+        }
+    }
+
+    /**
+     * The decoded 'exports', 'opens' and 'uses' directives.
+     */
+    private static class PackageDirectives {
+        final Map<String, List<String>> exports = new LinkedHashMap<>();
+        final Map<String, List<String>> opens = new LinkedHashMap<>();
+        final List<String> uses = new ArrayList<>();
+
+        PackageDirectives(String packageDirectives) {
+            int start = 0;
+            int end;
+            while ((end = packageDirectives.indexOf(';', start)) >= 0) {
+                int space = packageDirectives.indexOf(' ', start);
+                String keyword = packageDirectives.substring(start, space);
+                String target = packageDirectives.substring(space + 1, end);
+                if (keyword.equals("uses")) {
+                    uses.add(target);
+                } else {
+                    int to = target.indexOf(" to ");
+                    String name = to < 0 ? target : target.substring(0, to);
+                    List<String> modules = (keyword.equals("exports") ? exports : opens)
+                            .computeIfAbsent(name, k -> new ArrayList<>());
+                    if (to >= 0) {
+                        modules.addAll(Arrays.asList(target.substring(to + 4).split(",")));
+                    }
+                }
+                start = end + 1;
+            }
+        }
     }
 }
@@ -6,34 +6,88 @@ import static org.gradlex.javamodule.dependencies.internal.utils.ModuleNamingUti
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
-import javax.inject.Inject;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.invocation.Gradle;
 import org.gradle.api.logging.Logger;
+import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.provider.ProviderFactory;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
 import org.gradle.api.tasks.SourceSet;
 import org.gradlex.javamodule.dependencies.LocalModule;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Parsed module-info.java files of a build. The cache is a shared build service, so that all projects use the same
+ * instance and every file is parsed only once per build. Projects hold a reference to the service (a Provider) and
+ * never a copy of its content.
+ * <p>
+ * Without the settings plugin, all projects share one instance that is filled on demand. The settings plugin
+ * registers its own instance, which it fills with all modules while the settings are evaluated.
+ * <p>
+ * All methods may be called concurrently, e.g. when projects are configured in parallel.
+ */
 @NullMarked
-public abstract class ModuleInfoCache {
+public abstract class ModuleInfoCache implements BuildService<ModuleInfoCache.Parameters> {
     private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(ModuleInfoCache.class);
 
-    private final boolean initializedInSettings;
-    private final Map<File, ModuleInfo> moduleInfo = new HashMap<>();
-    private final Map<String, LocalModule> localModules = new HashMap<>();
+    private final Map<File, FutureTask<Optional<ModuleInfo>>> moduleInfo = new ConcurrentHashMap<>();
+    private final Map<String, LocalModule> localModules = new ConcurrentHashMap<>();
+    private final Set<ModuleInfo> registeredModules = ConcurrentHashMap.newKeySet();
+    private final Map<ModuleInfo, Map<ModuleInfo.Directive, List<ModuleWiring>>> wiring = new ConcurrentHashMap<>();
+    private volatile @Nullable ProjectNameIndex projectNameIndex;
+    private final LongAdder parsedFolders = new LongAdder();
 
-    @Inject
-    public ModuleInfoCache(boolean initializedInSettings) {
-        this.initializedInSettings = initializedInSettings;
+    public interface Parameters extends BuildServiceParameters {
+        /**
+         * @return true if the cache is created and filled by the settings plugin
+         */
+        Property<Boolean> getInitializedInSettings();
+
+        /**
+         * @return location of the {@link PersistentModuleInfoCache}; not set if the persistent cache is disabled
+         */
+        DirectoryProperty getPersistentCacheDir();
+    }
+
+    /**
+     * Registers the cache for the build with the given root directory, if it is not yet registered.
+     *
+     * @param initializedInSettings true if the cache is created and filled by the settings plugin
+     */
+    public static Provider<ModuleInfoCache> register(
+            Gradle gradle, File rootDir, ProviderFactory providers, boolean initializedInSettings) {
+        String name = ModuleInfoCache.class.getName() + (initializedInSettings ? "-settings" : "") + "@"
+                + rootDir.getAbsolutePath();
+        return gradle.getSharedServices().registerIfAbsent(name, ModuleInfoCache.class, spec -> {
+            spec.getParameters().getInitializedInSettings().set(initializedInSettings);
+            if (PersistentModuleInfoCache.isEnabled(providers)) {
+                spec.getParameters()
+                        .getPersistentCacheDir()
+                        .set(PersistentModuleInfoCache.location(gradle.getGradleUserHomeDir()));
+            }
+        });
     }
 
     public boolean isInitializedInSettings() {
-        return initializedInSettings;
+        return getParameters().getInitializedInSettings().get();
     }
 
     /**
@@ -45,16 +99,26 @@ public abstract class ModuleInfoCache {
      */
     public ModuleInfo get(SourceSet sourceSet, ProviderFactory providers) {
         for (File folder : sourceSet.getJava().getSrcDirs()) {
-            if (maybePutModuleInfo(folder, providers)) {
-                return moduleInfo.get(folder);
+            ModuleInfo result = moduleInfo(folder, providers);
+            if (result != null) {
+                return result;
             }
         }
         return ModuleInfo.EMPTY;
     }
 
+    /**
+     * @param folder a folder that may contain a module-info.java file
+     * @return parsed module-info.java in the given folder or EMPTY if there is none
+     */
+    public ModuleInfo get(File folder, ProviderFactory providers) {
+        ModuleInfo result = moduleInfo(folder, providers);
+        return result == null ? ModuleInfo.EMPTY : result;
+    }
+
     public @Nullable File getFolder(SourceSet sourceSet, ProviderFactory providers) {
         for (File folder : sourceSet.getJava().getSrcDirs()) {
-            if (maybePutModuleInfo(folder, providers)) {
+            if (moduleInfo(folder, providers) != null) {
                 return folder;
             }
         }
@@ -73,8 +137,8 @@ public abstract class ModuleInfoCache {
             Provider<String> group,
             ProviderFactory providers) {
         File folder = new File(projectRoot, moduleInfoPath);
-        if (maybePutModuleInfo(folder, providers)) {
-            ModuleInfo thisModuleInfo = moduleInfo.get(folder);
+        ModuleInfo thisModuleInfo = moduleInfo(folder, providers);
+        if (thisModuleInfo != null) {
             String moduleName = thisModuleInfo.getModuleName();
             String capability = null;
             Path parentDirectory = Paths.get(moduleInfoPath).getParent();
@@ -89,11 +153,42 @@ public abstract class ModuleInfoCache {
                 }
             }
             localModules.put(moduleName, new LocalModule(moduleName, projectPath, capability));
+            registeredModules.add(thisModuleInfo);
             return thisModuleInfo;
         }
         return ModuleInfo.EMPTY;
     }
 
+    /**
+     * Parses the module-info.java files in the given folders in parallel and then runs the registration, which
+     * is expected to call {@link #put} for the same folders one by one.
+     *
+     * @param folders the folders containing module-info.java files
+     * @param registration registers the modules in a deterministic order
+     */
+    public void putInParallel(Collection<File> folders, ProviderFactory providers, Runnable registration) {
+        List<File> pending =
+                folders.stream().filter(folder -> !moduleInfo.containsKey(folder)).collect(Collectors.toList());
+        if (pending.size() > 1) {
+            // the files are only read inside the value source, so that they do not become configuration inputs
+            providers
+                    .of(
+                            ValueSourceModuleInfoParallelParsing.class,
+                            spec -> spec.parameters(param -> {
+                                param.getDirs().set(pending);
+                                param.getCacheDir().set(persistentCacheDir());
+                            }))
+                    .get();
+        }
+        try {
+            registration.run();
+        } finally {
+            ParallelModuleInfoParser.discard(pending.stream()
+                    .map(folder -> new File(folder, "module-info.java"))
+                    .collect(Collectors.toList()));
+        }
+    }
+
     public @Nullable LocalModule getLocalModule(String moduleName) {
         return localModules.get(moduleName);
     }
@@ -102,21 +197,103 @@ public abstract class ModuleInfoCache {
         return localModules.values();
     }
 
-    private boolean maybePutModuleInfo(File folder, ProviderFactory providers) {
-        if (moduleInfo.containsKey(folder)) {
-            return true;
+    /**
+     * Resolves the 'requires' of all modules registered through {@link #put} to local modules. Called by the settings
+     * plugin once all modules are known, so that projects only need to look up the result.
+     */
+    public void computeWiring() {
+        for (ModuleInfo registered : registeredModules) {
+            Map<ModuleInfo.Directive, List<ModuleWiring>> byDirective = new EnumMap<>(ModuleInfo.Directive.class);
+            for (ModuleInfo.Directive directive : ModuleInfo.Directive.values()) {
+                List<String> requires = registered.get(directive);
+                List<ModuleWiring> wired = new ArrayList<>(requires.size());
+                for (String moduleName : requires) {
+                    wired.add(new ModuleWiring(moduleName, localModules.get(moduleName)));
+                }
+                byDirective.put(directive, Collections.unmodifiableList(wired));
+            }
+            wiring.put(registered, byDirective);
         }
-        Provider<ModuleInfo> moduleInfoProvider = provideModuleInfo(folder, providers);
-        if (moduleInfoProvider.isPresent()) {
-            moduleInfo.put(folder, moduleInfoProvider.get());
-            return true;
+    }
+
+    /**
+     * @return the modules required through the given directive, resolved by {@link #computeWiring()}; null if the
+     * module was not registered through the settings plugin
+     */
+    public @Nullable List<ModuleWiring> getWiring(ModuleInfo moduleInfo, ModuleInfo.Directive directive) {
+        Map<ModuleInfo.Directive, List<ModuleWiring>> byDirective = wiring.get(moduleInfo);
+        return byDirective == null ? null : byDirective.get(directive);
+    }
+
+    /**
+     * @param rootProject the root project of the build this cache belongs to
+     * @return the index of all subproject names, which is built on first access
+     */
+    public ProjectNameIndex getProjectNameIndex(Project rootProject) {
+        ProjectNameIndex index = projectNameIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = projectNameIndex;
+                if (index == null) {
+                    index = ProjectNameIndex.build(rootProject.getSubprojects());
+                    projectNameIndex = index;
+                }
+            }
         }
-        return false;
+        return index;
+    }
+
+    /**
+     * Reading from the cache is lock-free. If a folder is requested concurrently for the first time, only one thread
+     * parses the module-info.java while the others wait for its result.
+     *
+     * @return parsed module-info.java in the given folder or null if there is none
+     */
+    private @Nullable ModuleInfo moduleInfo(File folder, ProviderFactory providers) {
+        FutureTask<Optional<ModuleInfo>> parsing = moduleInfo.get(folder);
+        if (parsing == null) {
+            FutureTask<Optional<ModuleInfo>> newParsing =
+                    new FutureTask<>(() -> Optional.ofNullable(provideModuleInfo(folder, providers).getOrNull()));
+            parsing = moduleInfo.putIfAbsent(folder, newParsing);
+            if (parsing == null) {
+                parsing = newParsing;
+                parsedFolders.increment();
+                newParsing.run();
+            }
+        }
+        try {
+            return parsing.get().orElse(null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            // allow another attempt, e.g. after the file was fixed
+            moduleInfo.remove(folder, parsing);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * @return how often a folder was not found in the cache and its module-info.java was parsed (or found to be
+     * missing); a folder is parsed again only if parsing it failed before
+     */
+    public long getParsedFolderCount() {
+        return parsedFolders.sum();
     }
 
     private Provider<ModuleInfo> provideModuleInfo(File folder, ProviderFactory providers) {
         return providers.of(
                 ValueSourceModuleInfo.class,
-                spec -> spec.parameters(param -> param.getDir().set(folder)));
+                spec -> spec.parameters(param -> {
+                    param.getDir().set(folder);
+                    param.getCacheDir().set(persistentCacheDir());
+                }));
+    }
+
+    private @Nullable File persistentCacheDir() {
+        return getParameters().getPersistentCacheDir().getAsFile().getOrNull();
     }
 }
@@ -0,0 +1,523 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.internal.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Scans the content of a module-info.java file token by token, without building a syntax tree. It extracts the same
+ * information that {@link ModuleInfo} collects when using the full Java parser.
+ * <p>
+ * The scanner only accepts the syntax it understands for sure. If it finds anything unusual (e.g. comments in places
+ * where the Java parser would attach them to a node, unicode escapes, or syntax errors) {@link #scan()} returns
+ * 'false' and the caller is expected to fall back to the Java parser.
+ */
+@NullMarked
+public final class ModuleInfoScanner {
+
+    private static final char EOF = 0;
+    private static final char WORD = 'w';
+    private static final char STRING = 's';
+
+    private static final Set<String> RESERVED_KEYWORDS = new HashSet<>(Arrays.asList(
+            "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const", "continue",
+            "default", "do", "double", "else", "enum", "extends", "final", "finally", "float", "for", "goto", "if",
+            "implements", "import", "instanceof", "int", "interface", "long", "native", "new", "package", "private",
+            "protected", "public", "return", "short", "static", "strictfp", "super", "switch", "synchronized", "this",
+            "throw", "throws", "transient", "try", "void", "volatile", "while", "true", "false", "null", "_"));
+
+    private final String content;
+    private final StringBuilder nameBuilder = new StringBuilder();
+
+    // position of the scanner in the content
+    private int pos = 0;
+    private int line = 1;
+
+    // the current token
+    private char kind;
+    private int start;
+    private int end;
+    private int tokenLine;
+
+    // the comments between the previous and the current token
+    private int comments;
+    private int lastCommentContentStart;
+    private int lastCommentContentEnd;
+    private int lastCommentEndLine;
+
+    // the scan result
+    private String moduleName = "";
+    private Map<String, String> imports = Collections.emptyMap();
+    private final List<String> requires = new ArrayList<>();
+    private final List<String> requiresTransitive = new ArrayList<>();
+    private final List<String> requiresStatic = new ArrayList<>();
+    private final List<String> requiresStaticTransitive = new ArrayList<>();
+    private final List<String> requiresRuntime = new ArrayList<>();
+    private final Map<String, List<String>> provides = new LinkedHashMap<>();
+    private final StringBuilder packageDirectives = new StringBuilder();
+
+    public ModuleInfoScanner(String content) {
+        this.content = content;
+    }
+
+    /**
+     * @return true if the content was fully understood; false if the Java parser needs to be used instead
+     */
+    public boolean scan() {
+        try {
+            scanCompilationUnit();
+            return true;
+        } catch (UnsupportedSyntax e) {
+            return false;
+        }
+    }
+
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    public Map<String, String> getImports() {
+        return imports;
+    }
+
+    public List<String> get(ModuleInfo.Directive directive) {
+        switch (directive) {
+            case REQUIRES:
+                return requires;
+            case REQUIRES_TRANSITIVE:
+                return requiresTransitive;
+            case REQUIRES_STATIC:
+                return requiresStatic;
+            case REQUIRES_STATIC_TRANSITIVE:
+                return requiresStaticTransitive;
+            case REQUIRES_RUNTIME:
+                return requiresRuntime;
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    public Map<String, List<String>> getProvides() {
+        return provides;
+    }
+
+    /**
+     * @return the 'exports', 'opens' and 'uses' directives in the compact form described in {@link ModuleInfo}
+     */
+    public String getPackageDirectives() {
+        return packageDirectives.toString();
+    }
+
+    private void scanCompilationUnit() {
+        next();
+        Map<String, String> importsFound = new HashMap<>();
+        while (isWord("import")) {
+            scanImport(importsFound);
+        }
+        boolean annotated = false;
+        while (kind == '@') {
+            skipAnnotation();
+            annotated = true;
+        }
+        if (kind == EOF && !annotated) {
+            // no module declaration: same result as for an empty file
+            return;
+        }
+        if (isWord("open")) {
+            next();
+        }
+        expectWord("module");
+        next();
+        moduleName = readName(true);
+        imports = importsFound.isEmpty() ? Collections.emptyMap() : importsFound;
+        expect('{');
+        next();
+        while (kind != '}') {
+            scanDirective();
+        }
+        next();
+        expect(EOF);
+    }
+
+    private void scanImport(Map<String, String> importsFound) {
+        next();
+        if (isWord("static")) {
+            noComments();
+            next();
+        } else if (isWord("module")) {
+            // 'import module' or a package named 'module'
+            throw UnsupportedSyntax.INSTANCE;
+        }
+        String name = readName(false);
+        if (kind == '.') {
+            // on-demand import: 'a.b.*' is registered like 'a.b'
+            next();
+            noComments();
+            expect('*');
+            next();
+        }
+        noComments();
+        expect(';');
+        next();
+        if (importsFound.put(simpleName(name), name) != null) {
+            // let the Java parser report the duplicated import
+            throw UnsupportedSyntax.INSTANCE;
+        }
+    }
+
+    private void skipAnnotation() {
+        next();
+        readName(true);
+        if (kind == '(') {
+            int depth = 0;
+            do {
+                if (kind == '(') {
+                    depth++;
+                } else if (kind == ')') {
+                    depth--;
+                } else if (kind == EOF) {
+                    throw UnsupportedSyntax.INSTANCE;
+                }
+                next();
+            } while (depth > 0);
+        }
+    }
+
+    private void scanDirective() {
+        if (isWord("requires")) {
+            scanRequires();
+        } else if (isWord("provides")) {
+            scanProvides();
+        } else if (isWord("exports") || isWord("opens")) {
+            scanPackageDirective();
+        } else if (isWord("uses")) {
+            next();
+            packageDirectives.append("uses ").append(qualifiedName(readName(true)));
+            expect(';');
+            next();
+            packageDirectives.append(';');
+        } else {
+            throw UnsupportedSyntax.INSTANCE;
+        }
+    }
+
+    private void scanRequires() {
+        next();
+        boolean isStatic = false;
+        boolean isTransitive = false;
+        while (isWord("static") || isWord("transitive")) {
+            if (!isFollowedByWord()) {
+                // 'static' or 'transitive' is (the start of) the module name
+                throw UnsupportedSyntax.INSTANCE;
+            }
+            if (isWord("static")) {
+                if (isStatic) throw UnsupportedSyntax.INSTANCE;
+                isStatic = true;
+            } else {
+                if (isTransitive) throw UnsupportedSyntax.INSTANCE;
+                isTransitive = true;
+            }
+            next();
+        }
+        boolean isRuntime = !isStatic && !isTransitive && isRuntimeComment();
+        String name = readName(true);
+        if (!isStatic && !isTransitive) {
+            // the parser could attach a comment behind the name to the name
+            noComments();
+        }
+        expect(';');
+        next();
+
+        if (isStatic && isTransitive) {
+            requiresStaticTransitive.add(name);
+        } else if (isTransitive) {
+            requiresTransitive.add(name);
+        } else if (isStatic) {
+            requiresStatic.add(name);
+        } else if (isRuntime) {
+            requiresRuntime.add(name);
+        } else {
+            requires.add(name);
+        }
+    }
+
+    /**
+     * Records 'exports|opens name (to name (, name)*)?;' without comments and whitespace.
+     */
+    private void scanPackageDirective() {
+        packageDirectives.append(content, start, end).append(' ');
+        next();
+        packageDirectives.append(readName(true));
+        if (isWord("to")) {
+            packageDirectives.append(" to ");
+            next();
+            packageDirectives.append(readName(true));
+            while (kind == ',') {
+                next();
+                packageDirectives.append(',').append(readName(true));
+            }
+        }
+        expect(';');
+        next();
+        packageDirectives.append(';');
+    }
+
+    /**
+     * Mirrors how the Java parser attributes a comment in front of the module name of a 'requires' directive.
+     */
+    private boolean isRuntimeComment() {
+        if (comments == 0) {
+            return false;
+        }
+        if (comments > 1 || tokenLine > lastCommentEndLine + 1) {
+            throw UnsupportedSyntax.INSTANCE;
+        }
+        return content.substring(lastCommentContentStart, lastCommentContentEnd)
+                .trim()
+                .equals("runtime");
+    }
+
+    private void scanProvides() {
+        next();
+        String service = qualifiedName(readName(false));
+        noComments();
+        expectWord("with");
+        next();
+        List<String> with = provides.computeIfAbsent(service, k -> new ArrayList<>());
+        while (true) {
+            with.add(qualifiedName(readName(false)));
+            noComments();
+            if (kind != ',') {
+                break;
+            }
+            next();
+        }
+        expect(';');
+        next();
+    }
+
+    private String qualifiedName(String name) {
+        String qualified = imports.get(simpleName(name));
+        return qualified == null ? name : qualified;
+    }
+
+    private static String simpleName(String name) {
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Reads 'identifier (. identifier)*'. If the last '.' is not followed by an identifier, the scanner
+     * stops on that '.'.
+     */
+    private String readName(boolean commentsAllowedBefore) {
+        if (!commentsAllowedBefore) {
+            noComments();
+        }
+        expectIdentifier();
+        int nameStart = start;
+        int nameEnd = end;
+        boolean contiguous = true;
+        nameBuilder.setLength(0);
+        nameBuilder.append(content, start, end);
+        next();
+        while (kind == '.') {
+            noComments();
+            int dotStart = start;
+            int dotEnd = end;
+            int stateBeforeDot = pos;
+            int lineBeforeDot = line;
+            next();
+            if (kind != WORD) {
+                // e.g. '*' of an on-demand import; go back to the '.'
+                pos = stateBeforeDot;
+                line = lineBeforeDot;
+                kind = '.';
+                start = dotStart;
+                end = dotEnd;
+                comments = 0;
+                break;
+            }
+            noComments();
+            expectIdentifier();
+            contiguous = contiguous && dotStart == nameEnd && start == dotEnd;
+            nameEnd = end;
+            nameBuilder.append('.').append(content, start, end);
+            next();
+        }
+        return contiguous ? content.substring(nameStart, nameEnd) : nameBuilder.toString();
+    }
+
+    private boolean isFollowedByWord() {
+        int savedPos = pos;
+        int savedLine = line;
+        char savedKind = kind;
+        int savedStart = start;
+        int savedEnd = end;
+        int savedTokenLine = tokenLine;
+        int savedComments = comments;
+        int savedContentStart = lastCommentContentStart;
+        int savedContentEnd = lastCommentContentEnd;
+        int savedCommentEndLine = lastCommentEndLine;
+
+        next();
+        boolean result = kind == WORD;
+
+        pos = savedPos;
+        line = savedLine;
+        kind = savedKind;
+        start = savedStart;
+        end = savedEnd;
+        tokenLine = savedTokenLine;
+        comments = savedComments;
+        lastCommentContentStart = savedContentStart;
+        lastCommentContentEnd = savedContentEnd;
+        lastCommentEndLine = savedCommentEndLine;
+        return result;
+    }
+
+    private boolean isWord(String word) {
+        return kind == WORD && end - start == word.length() && content.startsWith(word, start);
+    }
+
+    private void expectWord(String word) {
+        if (!isWord(word)) {
+            throw UnsupportedSyntax.INSTANCE;
+        }
+    }
+
+    private void expect(char expected) {
+        if (kind != expected) {
+            throw UnsupportedSyntax.INSTANCE;
+        }
+    }
+
+    private void expectIdentifier() {
+        expect(WORD);
+        if (!Character.isJavaIdentifierStart(content.codePointAt(start))
+                || RESERVED_KEYWORDS.contains(content.substring(start, end))) {
+            throw UnsupportedSyntax.INSTANCE;
+        }
+    }
+
+    private void noComments() {
+        if (comments > 0) {
+            throw UnsupportedSyntax.INSTANCE;
+        }
+    }
+
+    /**
+     * Moves to the next token, skipping (and counting) whitespace and comments.
+     */
+    private void next() {
+        comments = 0;
+        skipWhitespaceAndComments();
+        start = pos;
+        tokenLine = line;
+        if (pos >= content.length()) {
+            kind = EOF;
+            end = pos;
+            return;
+        }
+        char c = content.charAt(pos);
+        if (Character.isJavaIdentifierPart(c) || Character.isHighSurrogate(c)) {
+            int cp;
+            while (pos < content.length() && Character.isJavaIdentifierPart(cp = content.codePointAt(pos))) {
+                pos += Character.charCount(cp);
+            }
+            if (pos == start) {
+                throw UnsupportedSyntax.INSTANCE;
+            }
+            kind = WORD;
+        } else if (c == '"' || c == '\'') {
+            skipLiteral(c);
+            kind = STRING;
+        } else if (c == '\\') {
+            // unicode escape
+            throw UnsupportedSyntax.INSTANCE;
+        } else {
+            pos++;
+            kind = c;
+        }
+        end = pos;
+    }
+
+    private void skipLiteral(char quote) {
+        if (content.startsWith("\"\"\"", pos)) {
+            // text block
+            throw UnsupportedSyntax.INSTANCE;
+        }
+        pos++;
+        while (pos < content.length()) {
+            char c = content.charAt(pos++);
+            if (c == quote) {
+                return;
+            }
+            if (c == '\\') {
+                pos++;
+            } else if (c == '\n' || c == '\r') {
+                break;
+            }
+        }
+        throw UnsupportedSyntax.INSTANCE;
+    }
+
+    private void skipWhitespaceAndComments() {
+        while (pos < content.length()) {
+            char c = content.charAt(pos);
+            if (c == '\n') {
+                line++;
+                pos++;
+            } else if (c == '\r') {
+                if (pos + 1 >= content.length() || content.charAt(pos + 1) != '\n') {
+                    line++;
+                }
+                pos++;
+            } else if (c == ' ' || c == '\t' || c == '\f') {
+                pos++;
+            } else if (c == '/' && content.startsWith("//", pos)) {
+                lastCommentContentStart = pos + 2;
+                while (pos < content.length() && content.charAt(pos) != '\n' && content.charAt(pos) != '\r') {
+                    pos++;
+                }
+                lastCommentContentEnd = pos;
+                lastCommentEndLine = line;
+                comments++;
+            } else if (c == '/' && content.startsWith("/*", pos)) {
+                boolean javadoc = content.startsWith("/**", pos) && !content.startsWith("/**/", pos);
+                int close = content.indexOf("*/", pos + 2);
+                if (close < 0) {
+                    throw UnsupportedSyntax.INSTANCE;
+                }
+                lastCommentContentStart = pos + (javadoc ? 3 : 2);
+                lastCommentContentEnd = close;
+                for (int i = pos; i < close; i++) {
+                    char cc = content.charAt(i);
+                    if (cc == '\n' || (cc == '\r' && content.charAt(i + 1) != '\n')) {
+                        line++;
+                    }
+                }
+                lastCommentEndLine = line;
+                pos = close + 2;
+                comments++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static final class UnsupportedSyntax extends RuntimeException {
+        private static final UnsupportedSyntax INSTANCE = new UnsupportedSyntax();
+
+        private UnsupportedSyntax() {
+            super(null, null, false, false);
+        }
+    }
+}
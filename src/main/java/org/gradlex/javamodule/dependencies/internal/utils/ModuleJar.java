@@ -4,11 +4,23 @@ package org.gradlex.javamodule.dependencies.internal.utils;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
-import java.util.jar.JarInputStream;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.jar.Manifest;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import org.objectweb.asm.ClassReader;
@@ -23,58 +35,90 @@ public class ModuleJar {
     private static final String MODULE_INFO_CLASS_FILE = "module-info.class";
     private static final Pattern MODULE_INFO_CLASS_MRJAR_PATH =
             Pattern.compile("META-INF/versions/\\d+/module-info.class");
+    private static final Pattern MRJAR_VERSIONS_PATH = Pattern.compile("META-INF/versions/\\d+/");
 
-    @Nullable
-    public static String readModuleNameFromJarFile(File jarFileOrClassFolder) throws IOException {
+    /**
+     * @param cacheDir location of the {@link PersistentJarDescriptorCache}; null if the cache is disabled
+     */
+    public static JarDescriptor inspect(File jarFileOrClassFolder, @Nullable File cacheDir) throws IOException {
+        if (cacheDir == null) {
+            return inspect(jarFileOrClassFolder);
+        }
+        return PersistentJarDescriptorCache.get(cacheDir, jarFileOrClassFolder);
+    }
+
+    /**
+     * Reads everything that is needed to analyse a Jar on the Module Path while opening it only once.
+     */
+    public static JarDescriptor inspect(File jarFileOrClassFolder) throws IOException {
         if (jarFileOrClassFolder.isDirectory()) {
             // class folder
             File moduleInfo = new File(jarFileOrClassFolder, MODULE_INFO_CLASS_FILE);
-            if (!moduleInfo.exists()) {
-                return null;
+            String moduleName = null;
+            if (moduleInfo.exists()) {
+                try (InputStream input = Files.newInputStream(moduleInfo.toPath())) {
+                    moduleName = readNameFromModuleInfoClass(input);
+                }
             }
-            return readNameFromModuleInfoClass(Files.newInputStream(moduleInfo.toPath()));
+            Path classFolder = jarFileOrClassFolder.toPath();
+            return new JarDescriptor(moduleName, moduleInfo.exists(), () -> getPackages(classFolder));
         }
-        try (JarInputStream jarStream = new JarInputStream(Files.newInputStream(jarFileOrClassFolder.toPath()))) {
-            String moduleName = getAutomaticModuleName(jarStream.getManifest());
-            if (moduleName != null) {
-                return moduleName;
+        if (!jarFileOrClassFolder.exists()) {
+            // class folder of a source set without sources
+            return JarDescriptor.NOT_A_MODULE;
+        }
+        try (JarFile jarFile = openJarFile(jarFileOrClassFolder)) {
+            if (jarFile == null) {
+                return JarDescriptor.NOT_A_MODULE;
             }
-            boolean isMultiReleaseJar = containsMultiReleaseJarEntry(jarStream);
-            ZipEntry next = jarStream.getNextEntry();
-            while (next != null) {
-                if (MODULE_INFO_CLASS_FILE.equals(next.getName())) {
-                    return readNameFromModuleInfoClass(jarStream);
-                }
-                if (isMultiReleaseJar
-                        && MODULE_INFO_CLASS_MRJAR_PATH.matcher(next.getName()).matches()) {
-                    return readNameFromModuleInfoClass(jarStream);
+            Manifest manifest = jarFile.getManifest();
+            ZipEntry moduleInfo = findModuleInfoEntry(jarFile, manifest);
+            String moduleName = getAutomaticModuleName(manifest);
+            if (moduleName == null && moduleInfo != null) {
+                try (InputStream input = jarFile.getInputStream(moduleInfo)) {
+                    moduleName = readNameFromModuleInfoClass(input);
                 }
-                next = jarStream.getNextEntry();
             }
+            boolean multiRelease = isMultiReleaseJar(manifest);
+            return new JarDescriptor(
+                    moduleName,
+                    moduleInfo != null,
+                    multiRelease,
+                    getMainAttributes(manifest),
+                    getPackages(jarFile, multiRelease));
         }
-        return null;
     }
 
-    public static boolean isRealModule(File jarFileOrClassFolder) throws IOException {
-        if (jarFileOrClassFolder.isDirectory()) {
-            // class folder
-            return new File(jarFileOrClassFolder, MODULE_INFO_CLASS_FILE).exists();
+    /**
+     * Opening the jar only reads its central directory. Single entries are then read without going through the
+     * content of all other entries, so that inspecting a jar does not depend on its size.
+     *
+     * @return the opened jar or null if the file is not a zip file
+     */
+    @Nullable
+    private static JarFile openJarFile(File jar) throws IOException {
+        try {
+            return new JarFile(jar, false);
+        } catch (ZipException e) {
+            return null;
         }
-        try (JarInputStream jarStream = new JarInputStream(Files.newInputStream(jarFileOrClassFolder.toPath()))) {
-            boolean isMultiReleaseJar = containsMultiReleaseJarEntry(jarStream);
-            ZipEntry next = jarStream.getNextEntry();
-            while (next != null) {
-                if (MODULE_INFO_CLASS_FILE.equals(next.getName())) {
-                    return true;
-                }
-                if (isMultiReleaseJar
-                        && MODULE_INFO_CLASS_MRJAR_PATH.matcher(next.getName()).matches()) {
-                    return true;
-                }
-                next = jarStream.getNextEntry();
+    }
+
+    @Nullable
+    private static ZipEntry findModuleInfoEntry(JarFile jarFile, @Nullable Manifest manifest) {
+        ZipEntry moduleInfo = jarFile.getEntry(MODULE_INFO_CLASS_FILE);
+        if (moduleInfo != null || !isMultiReleaseJar(manifest)) {
+            return moduleInfo;
+        }
+        // the entry names are part of the central directory that was read when opening the jar
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            JarEntry entry = entries.nextElement();
+            if (MODULE_INFO_CLASS_MRJAR_PATH.matcher(entry.getName()).matches()) {
+                return entry;
             }
         }
-        return false;
+        return null;
     }
 
     @Nullable
@@ -85,8 +129,51 @@ public class ModuleJar {
         return manifest.getMainAttributes().getValue(AUTOMATIC_MODULE_NAME_ATTRIBUTE);
     }
 
-    private static boolean containsMultiReleaseJarEntry(JarInputStream jarStream) {
-        Manifest manifest = jarStream.getManifest();
+    private static Map<String, String> getMainAttributes(@Nullable Manifest manifest) {
+        if (manifest == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> attributes = new LinkedHashMap<>();
+        manifest.getMainAttributes().forEach((k, v) -> attributes.put(k.toString(), v.toString()));
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    private static Set<String> getPackages(JarFile jarFile, boolean multiRelease) {
+        Set<String> packages = new TreeSet<>();
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            String name = entries.nextElement().getName();
+            if (multiRelease) {
+                Matcher versioned = MRJAR_VERSIONS_PATH.matcher(name);
+                if (versioned.lookingAt()) {
+                    name = name.substring(versioned.end());
+                }
+            }
+            addPackage(name, packages);
+        }
+        return Collections.unmodifiableSet(packages);
+    }
+
+    private static Set<String> getPackages(Path classFolder) {
+        Set<String> packages = new TreeSet<>();
+        try (Stream<Path> classes = Files.walk(classFolder)) {
+            classes.filter(Files::isRegularFile)
+                    .forEach(f -> addPackage(
+                            classFolder.relativize(f).toString().replace(File.separatorChar, '/'), packages));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Collections.unmodifiableSet(packages);
+    }
+
+    private static void addPackage(String entryName, Set<String> packages) {
+        int lastSlash = entryName.lastIndexOf('/');
+        if (lastSlash > 0 && entryName.endsWith(".class") && !entryName.startsWith("META-INF/")) {
+            packages.add(entryName.substring(0, lastSlash).replace('/', '.'));
+        }
+    }
+
+    private static boolean isMultiReleaseJar(@Nullable Manifest manifest) {
         return manifest != null
                 && Boolean.parseBoolean(manifest.getMainAttributes().getValue(MULTI_RELEASE_ATTRIBUTE));
     }
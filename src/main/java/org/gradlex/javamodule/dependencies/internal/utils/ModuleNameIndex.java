@@ -0,0 +1,52 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.internal.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Inverted 'moduleNameToGA' and 'moduleNamePrefixToGroup' mappings to find the Module Name for GA coordinates with
+ * hash lookups instead of scanning all mappings. If several Module Names map to the same coordinates (or several
+ * prefixes to the same group), the first one in map order is used.
+ */
+@NullMarked
+public final class ModuleNameIndex {
+
+    private final Map<String, String> gaToModuleName;
+    private final Map<String, String> groupToPrefix;
+
+    private ModuleNameIndex(Map<String, String> moduleNameToGA, Map<String, String> prefixToGroup) {
+        this.gaToModuleName = invert(moduleNameToGA);
+        this.groupToPrefix = invert(prefixToGroup);
+    }
+
+    public static ModuleNameIndex build(Map<String, String> moduleNameToGA, Map<String, String> prefixToGroup) {
+        return new ModuleNameIndex(moduleNameToGA, prefixToGroup);
+    }
+
+    /**
+     * @return the first Module Name mapped to the given coordinates; or, if there is none, the Module Name
+     * derived from the first prefix mapped to the group; or null
+     */
+    public @Nullable String moduleName(String ga) {
+        String found = gaToModuleName.get(ga);
+        if (found != null) {
+            return found;
+        }
+        String[] split = ga.split(":");
+        String group = split[0];
+        String artifact = split[1];
+        String modulePrefix = groupToPrefix.get(group);
+        return modulePrefix == null ? null : modulePrefix + artifact;
+    }
+
+    private static Map<String, String> invert(Map<String, String> map) {
+        Map<String, String> inverted = new HashMap<>(map.size() * 4 / 3 + 1);
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            inverted.putIfAbsent(entry.getValue(), entry.getKey());
+        }
+        return inverted;
+    }
+}
@@ -0,0 +1,64 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.internal.utils;
+
+import java.util.Map;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A snapshot of the 'moduleNameToGA' and 'moduleNamePrefixToGroup' mappings of a project. The
+ * {@link ModuleNamePrefixTrie} and the {@link ModuleNameIndex} are built from the snapshot on first use, so that the
+ * mappings are copied out of the Gradle properties and compiled only once for all lookups using the same snapshot.
+ */
+@NullMarked
+public final class ModuleNameMappings {
+
+    private final Map<String, String> moduleNameToGA;
+    private final Map<String, String> prefixToGroup;
+    private volatile @Nullable ModuleNamePrefixTrie prefixTrie;
+    private volatile @Nullable ModuleNameIndex index;
+
+    /**
+     * @param previous an older snapshot; its prefix trie is reused if the prefix mappings did not change
+     */
+    public ModuleNameMappings(
+            Map<String, String> moduleNameToGA,
+            Map<String, String> prefixToGroup,
+            @Nullable ModuleNameMappings previous) {
+        this.moduleNameToGA = moduleNameToGA;
+        this.prefixToGroup = prefixToGroup;
+        if (previous != null && previous.prefixToGroup.equals(prefixToGroup)) {
+            this.prefixTrie = previous.prefixTrie;
+        }
+    }
+
+    public boolean isSnapshotOf(Map<String, String> moduleNameToGA, Map<String, String> prefixToGroup) {
+        return this.prefixToGroup.equals(prefixToGroup) && this.moduleNameToGA.equals(moduleNameToGA);
+    }
+
+    public boolean isPrefixSnapshotOf(Map<String, String> prefixToGroup) {
+        return this.prefixToGroup.equals(prefixToGroup);
+    }
+
+    public Map<String, String> getModuleNameToGA() {
+        return moduleNameToGA;
+    }
+
+    public ModuleNamePrefixTrie getPrefixTrie() {
+        ModuleNamePrefixTrie trie = prefixTrie;
+        if (trie == null) {
+            trie = ModuleNamePrefixTrie.compile(prefixToGroup);
+            prefixTrie = trie;
+        }
+        return trie;
+    }
+
+    public ModuleNameIndex getIndex() {
+        ModuleNameIndex moduleNameIndex = index;
+        if (moduleNameIndex == null) {
+            moduleNameIndex = ModuleNameIndex.build(moduleNameToGA, prefixToGroup);
+            index = moduleNameIndex;
+        }
+        return moduleNameIndex;
+    }
+}
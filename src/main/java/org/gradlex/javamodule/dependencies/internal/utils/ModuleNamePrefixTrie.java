@@ -0,0 +1,94 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.internal.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The 'moduleNamePrefixToGroup' mappings compiled into a trie. Finding the longest prefix of a Module Name only
+ * depends on the length of the name and not on the number of mappings. The 'prefix|suffix' keys and the
+ * 'group|classifier' values are split once when compiling.
+ */
+@NullMarked
+public final class ModuleNamePrefixTrie {
+
+    private final Node root = new Node();
+
+    private ModuleNamePrefixTrie(Map<String, String> prefixToGroup) {
+        for (Map.Entry<String, String> entry : prefixToGroup.entrySet()) {
+            Mapping mapping = new Mapping(entry.getKey(), entry.getValue());
+            Node node = root;
+            for (int i = 0; i < mapping.namePrefix.length(); i++) {
+                node = node.children.computeIfAbsent(mapping.namePrefix.charAt(i), c -> new Node());
+            }
+            if (node.mapping == null) {
+                // for the same prefix with different suffixes, the first entry wins
+                node.mapping = mapping;
+            }
+        }
+    }
+
+    public static ModuleNamePrefixTrie compile(Map<String, String> prefixToGroup) {
+        return new ModuleNamePrefixTrie(prefixToGroup);
+    }
+
+    /**
+     * @return the mapping with the longest prefix of the given Module Name or null if no prefix matches
+     */
+    public @Nullable Mapping longestPrefix(String moduleName) {
+        Node node = root;
+        Mapping longest = node.mapping;
+        for (int i = 0; i < moduleName.length(); i++) {
+            node = node.children.get(moduleName.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.mapping != null) {
+                longest = node.mapping;
+            }
+        }
+        return longest;
+    }
+
+    public static final class Mapping {
+        private final String namePrefix;
+        private final String nameSuffix;
+        private final String group;
+        private final String classifier;
+
+        private Mapping(String key, String value) {
+            String[] keySplit = key.split("\\|");
+            this.namePrefix = keySplit.length > 0 ? keySplit[0] : "";
+            this.nameSuffix = keySplit.length > 1 ? keySplit[1] : "";
+            String[] valueSplit = value.split("\\|");
+            this.group = valueSplit.length > 0 ? valueSplit[0] : "";
+            this.classifier = valueSplit.length > 1 ? "|" + valueSplit[1] : "";
+        }
+
+        public String getNamePrefix() {
+            return namePrefix;
+        }
+
+        public String getNameSuffix() {
+            return nameSuffix;
+        }
+
+        public String getGroup() {
+            return group;
+        }
+
+        /**
+         * @return the classifier including the leading '|' or an empty string
+         */
+        public String getClassifier() {
+            return classifier;
+        }
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private @Nullable Mapping mapping;
+    }
+}
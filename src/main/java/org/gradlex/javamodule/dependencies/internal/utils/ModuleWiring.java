@@ -0,0 +1,32 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.internal.utils;
+
+import org.gradlex.javamodule.dependencies.LocalModule;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A module required by a local module, with the local module that defines it. Computed once for all modules when the
+ * settings plugin knows all local modules of the build.
+ */
+@NullMarked
+public final class ModuleWiring {
+    private final String moduleName;
+    private final @Nullable LocalModule localModule;
+
+    ModuleWiring(String moduleName, @Nullable LocalModule localModule) {
+        this.moduleName = moduleName;
+        this.localModule = localModule;
+    }
+
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    /**
+     * @return the local module or null if the module is not part of the build
+     */
+    public @Nullable LocalModule getLocalModule() {
+        return localModule;
+    }
+}
@@ -0,0 +1,60 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.internal.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Parses 'gradle/modules.properties'. Usually, all projects of a build use the same file. Its content is still read
+ * by each project through 'providers.fileContents()', which is what Gradle tracks as configuration input. But the
+ * content is only parsed again if it differs from what was parsed for the same file before in this daemon.
+ */
+@NullMarked
+public final class ModulesPropertiesParser {
+
+    private static final Map<File, Parsed> PARSED = new ConcurrentHashMap<>();
+
+    private ModulesPropertiesParser() {}
+
+    /**
+     * @return the mappings in the given content of the given file as unmodifiable map
+     */
+    public static Map<String, String> parse(File modulesProperties, String content) {
+        File key = modulesProperties.toPath().toAbsolutePath().normalize().toFile();
+        Parsed parsed = PARSED.get(key);
+        if (parsed == null || !parsed.content.equals(content)) {
+            parsed = new Parsed(content, parse(content));
+            PARSED.put(key, parsed);
+        }
+        return parsed.mappings;
+    }
+
+    private static Map<String, String> parse(String content) {
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(content));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        Map<String, String> mappings = new LinkedHashMap<>();
+        properties.forEach((k, v) -> mappings.put((String) k, (String) v));
+        return Collections.unmodifiableMap(mappings);
+    }
+
+    private static class Parsed {
+        private final String content;
+        private final Map<String, String> mappings;
+
+        Parsed(String content, Map<String, String> mappings) {
+            this.content = content;
+            this.mappings = mappings;
+        }
+    }
+}
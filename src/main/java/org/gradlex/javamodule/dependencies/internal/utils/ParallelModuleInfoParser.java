@@ -0,0 +1,129 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.internal.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Parses many module-info.java files in parallel before they are registered one by one through
+ * {@link ValueSourceModuleInfo}. The parsing runs inside {@link ValueSourceModuleInfoParallelParsing}. Gradle ignores
+ * file access inside a value source only on the thread that obtains the value. Therefore, all files – the
+ * module-info.java files and the entries of the {@link PersistentModuleInfoCache} – are read and written on that
+ * thread and only the parsing itself runs on other threads.
+ * <p>
+ * The value source of each file is still what Gradle tracks as configuration input. It only picks up the already
+ * parsed result if the file content is still the same.
+ * <p>
+ * Failures are ignored here. The file is then parsed again by the value source, which reports the problem
+ * as if there was no parallel parsing.
+ * <p>
+ * Results are only kept until the next parallel parsing starts. Gradle may obtain the value source again without
+ * registering the modules, e.g. when it checks whether the configuration cache can be reused. The results of that are
+ * never taken and must not stay in memory for the lifetime of the daemon. If results are cleared before they are
+ * taken, the files are just parsed again by the value source.
+ */
+@NullMarked
+final class ParallelModuleInfoParser {
+    private static final int MAX_THREADS = 8;
+
+    private static final Map<File, Parsed> PARSED = new ConcurrentHashMap<>();
+
+    private ParallelModuleInfoParser() {}
+
+    static void parse(Collection<File> moduleInfoFiles, @Nullable File persistentCacheDir) {
+        PARSED.clear();
+        if (moduleInfoFiles.size() < 2) {
+            return;
+        }
+        Map<File, String> toParse = new LinkedHashMap<>();
+        for (File file : moduleInfoFiles) {
+            try {
+                String content = ModuleInfo.readContent(file);
+                ModuleInfo cached = persistentCacheDir == null
+                        ? null
+                        : PersistentModuleInfoCache.getIfPresent(persistentCacheDir, content);
+                if (cached != null) {
+                    PARSED.put(key(file), new Parsed(content, cached));
+                } else {
+                    toParse.put(file, content);
+                }
+            } catch (IOException e) {
+                // reported when the file is read again by ValueSourceModuleInfo
+            }
+        }
+        if (toParse.size() < 2) {
+            return;
+        }
+
+        Map<File, Future<ModuleInfo>> parsing = new LinkedHashMap<>();
+        int threads = Math.min(toParse.size(), Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "java-module-dependencies module-info parser");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (Map.Entry<File, String> file : toParse.entrySet()) {
+                parsing.put(file.getKey(), executor.submit(() -> new ModuleInfo(file.getValue())));
+            }
+            for (Map.Entry<File, Future<ModuleInfo>> file : parsing.entrySet()) {
+                String content = toParse.get(file.getKey());
+                ModuleInfo moduleInfo = parsed(file.getValue());
+                if (moduleInfo != null) {
+                    if (persistentCacheDir != null) {
+                        PersistentModuleInfoCache.put(persistentCacheDir, content, moduleInfo);
+                    }
+                    PARSED.put(key(file.getKey()), new Parsed(content, moduleInfo));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static @Nullable ModuleInfo parsed(Future<ModuleInfo> parsing) throws InterruptedException {
+        try {
+            return parsing.get();
+        } catch (ExecutionException e) {
+            // reported when the file is parsed again by ValueSourceModuleInfo
+            return null;
+        }
+    }
+
+    static @Nullable ModuleInfo take(File moduleInfoFile, String content) {
+        Parsed parsed = PARSED.remove(key(moduleInfoFile));
+        return parsed != null && parsed.content.equals(content) ? parsed.moduleInfo : null;
+    }
+
+    static void discard(Collection<File> moduleInfoFiles) {
+        for (File file : moduleInfoFiles) {
+            PARSED.remove(key(file));
+        }
+    }
+
+    private static File key(File file) {
+        return file.toPath().toAbsolutePath().normalize().toFile();
+    }
+
+    private static class Parsed {
+        private final String content;
+        private final ModuleInfo moduleInfo;
+
+        Parsed(String content, ModuleInfo moduleInfo) {
+            this.content = content;
+            this.moduleInfo = moduleInfo;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.internal.utils;
+
+import static org.gradlex.javamodule.dependencies.internal.utils.PersistentModuleInfoCache.ENTRY_SUFFIX;
+import static org.gradlex.javamodule.dependencies.internal.utils.PersistentModuleInfoCache.hash;
+import static org.gradlex.javamodule.dependencies.internal.utils.PersistentModuleInfoCache.implementationHash;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ProviderFactory;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Cache for {@link JarDescriptor}s that is shared by all builds on a machine. Entries are stored in the Gradle User
+ * Home next to the {@link PersistentModuleInfoCache} and are addressed by the hash of the Jar's absolute path, size
+ * and modification time and of the inspecting implementation. Most Jars on a Module Path are immutable files in
+ * Gradle's dependency cache, which are therefore only opened once. Class folders are not cached as their content
+ * changes.
+ * <p>
+ * Entries are written, used and cleaned up in the same way as those of the {@link PersistentModuleInfoCache}.
+ */
+@NullMarked
+public final class PersistentJarDescriptorCache {
+
+    private static final String ENABLED_PROPERTY = "org.gradlex.java-module-dependencies.jar-descriptor-cache";
+    private static final String LOCATION = "caches/org.gradlex.java-module-dependencies/jar-descriptors";
+
+    static final int FORMAT_VERSION = 2;
+
+    private static final String IMPLEMENTATION = implementationHash(ModuleJar.class, JarDescriptor.class);
+
+    private PersistentJarDescriptorCache() {}
+
+    /**
+     * @return the cache folder inside the Gradle User Home
+     */
+    public static File location(File gradleUserHome) {
+        return new File(gradleUserHome, LOCATION);
+    }
+
+    /**
+     * @return false if the cache is disabled through the
+     * 'org.gradlex.java-module-dependencies.jar-descriptor-cache' Gradle property
+     */
+    public static boolean isEnabled(ProviderFactory providers) {
+        return Boolean.parseBoolean(providers.gradleProperty(ENABLED_PROPERTY).getOrElse("true"));
+    }
+
+    /**
+     * Lets the given task property point to the cache folder, unless the cache is disabled.
+     */
+    public static void configure(DirectoryProperty cacheDir, Project project) {
+        if (isEnabled(project.getProviders())) {
+            File location = location(project.getGradle().getGradleUserHomeDir());
+            cacheDir.convention(project.getLayout().dir(project.provider(() -> location)));
+        }
+    }
+
+    /**
+     * Returns the cached descriptor for the given Jar or inspects the Jar and stores the result.
+     */
+    public static JarDescriptor get(File cacheDir, File jarFileOrClassFolder) throws IOException {
+        if (!jarFileOrClassFolder.isFile()) {
+            return ModuleJar.inspect(jarFileOrClassFolder);
+        }
+        Path entry = cacheDir.toPath().resolve(hash(key(jarFileOrClassFolder)) + ENTRY_SUFFIX);
+        JarDescriptor cached = read(entry);
+        if (cached != null) {
+            return cached;
+        }
+        JarDescriptor descriptor = ModuleJar.inspect(jarFileOrClassFolder);
+        write(entry, descriptor);
+        PersistentModuleInfoCache.cleanupIfDue(cacheDir.toPath());
+        return descriptor;
+    }
+
+    private static String key(File jar) {
+        return IMPLEMENTATION + "|" + jar.getAbsolutePath() + "|" + jar.length() + "|" + jar.lastModified();
+    }
+
+    private static @Nullable JarDescriptor read(Path entry) {
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            JarDescriptor descriptor = JarDescriptor.readFrom(in);
+            PersistentModuleInfoCache.touch(entry);
+            return descriptor;
+        } catch (IOException | RuntimeException e) {
+            // incomplete or corrupted entry: inspect again and overwrite
+            return null;
+        }
+    }
+
+    private static void write(Path entry, JarDescriptor descriptor) {
+        PersistentModuleInfoCache.write(entry, FORMAT_VERSION, descriptor::writeTo);
+    }
+}
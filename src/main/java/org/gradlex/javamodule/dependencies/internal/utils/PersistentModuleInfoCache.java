@@ -0,0 +1,308 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.internal.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.github.javaparser.JavaParser;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.gradle.api.provider.ProviderFactory;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Cache for parsed module-info.java files that is shared by all builds on a machine. Entries are stored in the
+ * Gradle User Home and are addressed by the hash of the file content and of the parser implementation. An unchanged
+ * module-info.java is therefore never parsed twice, even if the configuration cache is discarded, while another
+ * version of the plugin never uses the results of a different parser.
+ * <p>
+ * Each entry is a small binary file starting with {@link #FORMAT_VERSION}. Entries with another version are ignored
+ * and overwritten. From time to time, entries that have not been used for {@link #MAX_AGE_DAYS} days are removed
+ * and the number of entries is capped at {@link #MAX_ENTRIES} by removing the least recently used ones.
+ */
+@NullMarked
+public final class PersistentModuleInfoCache {
+
+    private static final String ENABLED_PROPERTY = "org.gradlex.java-module-dependencies.module-info-cache";
+    private static final String LOCATION = "caches/org.gradlex.java-module-dependencies/module-info";
+
+    static final int FORMAT_VERSION = 2;
+    static final int MAX_ENTRIES = 10_000;
+    static final int MAX_AGE_DAYS = 30;
+
+    static final String ENTRY_SUFFIX = ".bin";
+    private static final String CLEANUP_MARKER = "cleanup.marker";
+    private static final long CLEANUP_INTERVAL = TimeUnit.DAYS.toMillis(1);
+    private static final long TOUCH_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+    private static final String IMPLEMENTATION =
+            implementationHash(ModuleInfo.class, ModuleInfoScanner.class, JavaParser.class);
+
+    private PersistentModuleInfoCache() {}
+
+    /**
+     * @return the cache folder inside the Gradle User Home
+     */
+    public static File location(File gradleUserHome) {
+        return new File(gradleUserHome, LOCATION);
+    }
+
+    /**
+     * @return false if the cache is disabled through the
+     * 'org.gradlex.java-module-dependencies.module-info-cache' Gradle property
+     */
+    public static boolean isEnabled(ProviderFactory providers) {
+        return Boolean.parseBoolean(providers.gradleProperty(ENABLED_PROPERTY).getOrElse("true"));
+    }
+
+    /**
+     * Returns the cached result for the given module-info.java content or parses the content and stores the result.
+     */
+    public static ModuleInfo get(File cacheDir, String moduleInfoFileContent) {
+        ModuleInfo cached = getIfPresent(cacheDir, moduleInfoFileContent);
+        if (cached != null) {
+            return cached;
+        }
+        ModuleInfo moduleInfo = new ModuleInfo(moduleInfoFileContent);
+        put(cacheDir, moduleInfoFileContent, moduleInfo);
+        return moduleInfo;
+    }
+
+    /**
+     * @return the cached result for the given module-info.java content or null if there is none
+     */
+    static @Nullable ModuleInfo getIfPresent(File cacheDir, String moduleInfoFileContent) {
+        return read(entry(cacheDir, moduleInfoFileContent));
+    }
+
+    /**
+     * Stores the result of parsing the given module-info.java content.
+     */
+    static void put(File cacheDir, String moduleInfoFileContent, ModuleInfo moduleInfo) {
+        write(entry(cacheDir, moduleInfoFileContent), moduleInfo);
+        cleanupIfDue(cacheDir.toPath());
+    }
+
+    private static Path entry(File cacheDir, String moduleInfoFileContent) {
+        return cacheDir.toPath().resolve(hash(IMPLEMENTATION + moduleInfoFileContent) + ENTRY_SUFFIX);
+    }
+
+    private static @Nullable ModuleInfo read(Path entry) {
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            String moduleName = in.readUTF();
+            Map<ModuleInfo.Directive, List<String>> requires = new EnumMap<>(ModuleInfo.Directive.class);
+            for (ModuleInfo.Directive directive : ModuleInfo.Directive.values()) {
+                requires.put(directive, readList(in));
+            }
+            int providesCount = in.readInt();
+            Map<String, List<String>> provides = new LinkedHashMap<>();
+            for (int i = 0; i < providesCount; i++) {
+                provides.put(in.readUTF(), readList(in));
+            }
+            String packageDirectives = in.readUTF();
+            touch(entry);
+            return new ModuleInfo(moduleName, requires, provides, packageDirectives);
+        } catch (IOException | RuntimeException e) {
+            // incomplete or corrupted entry: parse again and overwrite
+            return null;
+        }
+    }
+
+    private static void write(Path entry, ModuleInfo moduleInfo) {
+        write(entry, FORMAT_VERSION, out -> {
+            out.writeUTF(moduleInfo.getModuleName());
+            for (ModuleInfo.Directive directive : ModuleInfo.Directive.values()) {
+                writeList(out, moduleInfo.get(directive));
+            }
+            out.writeInt(moduleInfo.getProvides().size());
+            for (Map.Entry<String, List<String>> provides : moduleInfo.getProvides().entrySet()) {
+                out.writeUTF(provides.getKey());
+                writeList(out, provides.getValue());
+            }
+            out.writeUTF(moduleInfo.getPackageDirectives());
+        });
+    }
+
+    /**
+     * Writes an entry, starting with the given format version, to a temporary file that is then moved into place, so
+     * that other processes never see a partially written entry.
+     */
+    static void write(Path entry, int formatVersion, EntryWriter writer) {
+        Path tmp = null;
+        try {
+            Files.createDirectories(entry.getParent());
+            tmp = Files.createTempFile(entry.getParent(), entry.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(formatVersion);
+                writer.write(out);
+            }
+            try {
+                Files.move(tmp, entry, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // the cache is only an optimization: ignore if it cannot be written
+            deleteQuietly(tmp);
+        }
+    }
+
+    interface EntryWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static List<String> readList(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<String> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(in.readUTF());
+        }
+        return list;
+    }
+
+    private static void writeList(DataOutputStream out, List<String> list) throws IOException {
+        out.writeInt(list.size());
+        for (String s : list) {
+            out.writeUTF(s);
+        }
+    }
+
+    /**
+     * Entries are touched when used (at most once per hour) so that the modification time tells when an entry was
+     * last used.
+     */
+    static void touch(Path entry) {
+        File file = entry.toFile();
+        long now = System.currentTimeMillis();
+        if (now - file.lastModified() > TOUCH_INTERVAL) {
+            //noinspection ResultOfMethodCallIgnored
+            file.setLastModified(now);
+        }
+    }
+
+    static void cleanupIfDue(Path cacheDir) {
+        File marker = cacheDir.resolve(CLEANUP_MARKER).toFile();
+        long now = System.currentTimeMillis();
+        if (marker.exists() && now - marker.lastModified() < CLEANUP_INTERVAL) {
+            return;
+        }
+        try {
+            if (!marker.createNewFile()) {
+                //noinspection ResultOfMethodCallIgnored
+                marker.setLastModified(now);
+            }
+            cleanup(cacheDir, now);
+        } catch (IOException e) {
+            // ignore: try again next time
+        }
+    }
+
+    static void cleanup(Path cacheDir, long now) throws IOException {
+        long maxAge = TimeUnit.DAYS.toMillis(MAX_AGE_DAYS);
+        List<File> entries;
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            entries = files.map(Path::toFile)
+                    .filter(f -> !f.getName().equals(CLEANUP_MARKER))
+                    .collect(Collectors.toList());
+        }
+        List<File> remaining = new ArrayList<>();
+        for (File entry : entries) {
+            long lastUsed = entry.lastModified();
+            boolean leftoverTmp = !entry.getName().endsWith(ENTRY_SUFFIX) && now - lastUsed > TOUCH_INTERVAL;
+            if (leftoverTmp || now - lastUsed > maxAge) {
+                //noinspection ResultOfMethodCallIgnored
+                entry.delete();
+            } else if (entry.getName().endsWith(ENTRY_SUFFIX)) {
+                remaining.add(entry);
+            }
+        }
+        if (remaining.size() > MAX_ENTRIES) {
+            remaining.sort(Comparator.comparingLong(File::lastModified));
+            for (File entry : remaining.subList(0, remaining.size() - MAX_ENTRIES)) {
+                //noinspection ResultOfMethodCallIgnored
+                entry.delete();
+            }
+        }
+    }
+
+    static String hash(String content) {
+        return hex(sha256().digest(content.getBytes(UTF_8)));
+    }
+
+    /**
+     * @return the hash of the class files of the given classes, which is part of the entry keys so that a changed
+     * implementation, e.g. in a new version of the plugin, never uses entries written by another one; if a class file
+     * cannot be read, a random value so that entries are only shared within the running Gradle daemon
+     */
+    static String implementationHash(Class<?>... implementation) {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[8192];
+        for (Class<?> c : implementation) {
+            try (InputStream in = c.getResourceAsStream("/" + c.getName().replace('.', '/') + ".class")) {
+                if (in == null) {
+                    return UUID.randomUUID().toString();
+                }
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                return UUID.randomUUID().toString();
+            }
+        }
+        return hex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String hex(byte[] digest) {
+        StringBuilder hex = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static void deleteQuietly(@Nullable Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // ignore
+            }
+        }
+    }
+}
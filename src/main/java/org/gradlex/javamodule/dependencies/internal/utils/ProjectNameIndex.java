@@ -0,0 +1,71 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.internal.utils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.gradle.api.Project;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The names of all subprojects of a build, indexed by their dotted form ('-' replaced by '.') which is how they
+ * appear in Module Names. The set of projects is fixed once the settings are evaluated, so the index is built once
+ * per build. If several projects have the same dotted name, the first one is used.
+ */
+@NullMarked
+public final class ProjectNameIndex {
+
+    private final Map<String, Entry> byDottedName;
+
+    private ProjectNameIndex(Collection<Project> subprojects) {
+        byDottedName = new HashMap<>(subprojects.size() * 4 / 3 + 1);
+        for (Project project : subprojects) {
+            byDottedName.putIfAbsent(
+                    project.getName().replace("-", "."), new Entry(project.getName(), project.getPath()));
+        }
+    }
+
+    public static ProjectNameIndex build(Collection<Project> subprojects) {
+        return new ProjectNameIndex(subprojects);
+    }
+
+    /**
+     * @return the project whose dotted name is the given Module Name suffix or null
+     */
+    public @Nullable Entry perfectMatch(String moduleNameSuffix) {
+        return byDottedName.get(moduleNameSuffix);
+    }
+
+    /**
+     * @return the project with the longest dotted name that is followed by '.' in the given Module Name suffix or
+     * null; the remaining segments are usually a capability
+     */
+    public @Nullable Entry longestPrefixMatch(String moduleNameSuffix) {
+        for (int dot = moduleNameSuffix.lastIndexOf('.'); dot >= 0; dot = moduleNameSuffix.lastIndexOf('.', dot - 1)) {
+            Entry entry = byDottedName.get(moduleNameSuffix.substring(0, dot));
+            if (entry != null) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    public static final class Entry {
+        private final String name;
+        private final String path;
+
+        private Entry(String name, String path) {
+            this.name = name;
+            this.path = path;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getPath() {
+            return path;
+        }
+    }
+}
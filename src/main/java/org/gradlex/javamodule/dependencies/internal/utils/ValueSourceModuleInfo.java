@@ -3,7 +3,6 @@ package org.gradlex.javamodule.dependencies.internal.utils;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Scanner;
 import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.provider.ValueSource;
 import org.gradle.api.provider.ValueSourceParameters;
@@ -15,6 +14,8 @@ public abstract class ValueSourceModuleInfo implements ValueSource<ModuleInfo, V
 
     interface Parameter extends ValueSourceParameters {
         DirectoryProperty getDir();
+
+        DirectoryProperty getCacheDir();
     }
 
     @Override
@@ -23,15 +24,27 @@ public abstract class ValueSourceModuleInfo implements ValueSource<ModuleInfo, V
         File file = new File(parameters.getDir().get().getAsFile(), "module-info.java");
         if (file.isFile()) {
             try {
-                try (Scanner scan = new Scanner(file)) {
-                    scan.useDelimiter("\\Z");
-                    String content = scan.next();
-                    return new ModuleInfo(content);
+                String content = ModuleInfo.readContent(file);
+                ModuleInfo parsedInParallel = ParallelModuleInfoParser.take(file, content);
+                if (parsedInParallel != null) {
+                    return parsedInParallel;
                 }
+                return parse(
+                        content,
+                        parameters.getCacheDir().isPresent()
+                                ? parameters.getCacheDir().get().getAsFile()
+                                : null);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
         }
         return null;
     }
+
+    static ModuleInfo parse(String content, @Nullable File persistentCacheDir) {
+        if (persistentCacheDir != null) {
+            return PersistentModuleInfoCache.get(persistentCacheDir, content);
+        }
+        return new ModuleInfo(content);
+    }
 }
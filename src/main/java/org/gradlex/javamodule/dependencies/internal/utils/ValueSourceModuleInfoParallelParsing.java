@@ -0,0 +1,43 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.internal.utils;
+
+import java.io.File;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.ValueSource;
+import org.gradle.api.provider.ValueSourceParameters;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Runs the {@link ParallelModuleInfoParser}. Files read inside a value source are not configuration inputs on their
+ * own. The value is only the number of module-info.java files, so that changing a file does not invalidate the
+ * configuration cache through this value source. Whether a change is relevant is still decided by the
+ * {@link ValueSourceModuleInfo} of each file.
+ */
+@NullMarked
+public abstract class ValueSourceModuleInfoParallelParsing
+        implements ValueSource<Integer, ValueSourceModuleInfoParallelParsing.Parameter> {
+
+    interface Parameter extends ValueSourceParameters {
+        ListProperty<File> getDirs();
+
+        DirectoryProperty getCacheDir();
+    }
+
+    @Override
+    public Integer obtain() {
+        Parameter parameters = getParameters();
+        List<File> moduleInfoFiles = parameters.getDirs().get().stream()
+                .map(dir -> new File(dir, "module-info.java"))
+                .filter(File::isFile)
+                .collect(Collectors.toList());
+        ParallelModuleInfoParser.parse(
+                moduleInfoFiles,
+                parameters.getCacheDir().isPresent()
+                        ? parameters.getCacheDir().get().getAsFile()
+                        : null);
+        return moduleInfoFiles.size();
+    }
+}
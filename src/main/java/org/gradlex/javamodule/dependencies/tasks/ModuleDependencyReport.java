@@ -7,6 +7,7 @@ import javax.inject.Inject;
 import org.gradle.api.artifacts.ArtifactCollection;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.provider.MapProperty;
 import org.gradle.api.provider.ProviderFactory;
 import org.gradle.api.tasks.Classpath;
@@ -14,6 +15,7 @@ import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.diagnostics.DependencyReportTask;
 import org.gradle.work.DisableCachingByDefault;
 import org.gradlex.javamodule.dependencies.internal.diagnostics.AsciiModuleDependencyReportRenderer;
+import org.gradlex.javamodule.dependencies.internal.utils.JarDescriptors;
 import org.jspecify.annotations.NullMarked;
 
 @DisableCachingByDefault(because = "reporting task")
@@ -23,6 +25,12 @@ public abstract class ModuleDependencyReport extends DependencyReportTask {
     @Internal
     public abstract MapProperty<String, ArtifactCollection> getModuleArtifacts();
 
+    /**
+     * The information about the Jars in getModuleArtifacts() as produced by an artifact transform.
+     */
+    @Internal
+    public abstract MapProperty<String, ArtifactCollection> getModuleDescriptors();
+
     /**
      * Required to track all Jar files as input of the task.
      * Although they are only accessed through getModuleArtifacts().
@@ -30,11 +38,18 @@ public abstract class ModuleDependencyReport extends DependencyReportTask {
     @Classpath
     public abstract ConfigurableFileCollection getModulePath();
 
+    /**
+     * Location of the persistent cache for information read from Jars; not set if the cache is disabled.
+     */
+    @Internal
+    public abstract DirectoryProperty getJarDescriptorCache();
+
     @Inject
     protected abstract ProviderFactory getProviders();
 
     public ModuleDependencyReport() {
-        setRenderer(new AsciiModuleDependencyReportRenderer(getModuleArtifacts()));
+        setRenderer(new AsciiModuleDependencyReportRenderer(
+                getModuleArtifacts(), getModuleDescriptors(), getJarDescriptorCache()));
     }
 
     @Override
@@ -52,10 +67,13 @@ public abstract class ModuleDependencyReport extends DependencyReportTask {
     private void configurationsChanged() {
         getModulePath().setFrom();
         getModuleArtifacts().set(Collections.emptyMap());
+        getModuleDescriptors().set(Collections.emptyMap());
         for (Configuration conf : getConfigurations()) {
             getModulePath().from(conf);
             getModuleArtifacts().put(conf.getName(), getProviders().provider(() -> conf.getIncoming()
                     .getArtifacts()));
+            getModuleDescriptors()
+                    .put(conf.getName(), getProviders().provider(() -> JarDescriptors.descriptorArtifacts(conf)));
         }
     }
 }
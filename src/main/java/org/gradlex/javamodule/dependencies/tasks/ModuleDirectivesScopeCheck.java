@@ -2,7 +2,6 @@
 package org.gradlex.javamodule.dependencies.tasks;
 
 import static org.gradle.api.plugins.JavaPlugin.RUNTIME_ONLY_CONFIGURATION_NAME;
-import static org.gradlex.javamodule.dependencies.internal.utils.ModuleJar.readModuleNameFromJarFile;
 
 import com.autonomousapps.AbstractPostProcessingTask;
 import com.autonomousapps.model.Advice;
@@ -21,6 +20,7 @@ import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
 import org.gradle.api.artifacts.component.ProjectComponentIdentifier;
 import org.gradle.api.artifacts.result.ResolvedArtifactResult;
 import org.gradle.api.capabilities.Capability;
+import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.MapProperty;
@@ -29,6 +29,7 @@ import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
+import org.gradlex.javamodule.dependencies.internal.utils.JarDescriptors;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
@@ -56,12 +57,27 @@ public abstract class ModuleDirectivesScopeCheck extends AbstractPostProcessingT
     @Internal
     public abstract ListProperty<ArtifactCollection> getModuleArtifacts();
 
+    /**
+     * The information about the Jars in getModuleArtifacts() as produced by an artifact transform.
+     */
+    @Internal
+    public abstract ListProperty<ArtifactCollection> getModuleDescriptors();
+
+    /**
+     * Location of the persistent cache for information read from Jars; not set if the cache is disabled.
+     */
+    @Internal
+    public abstract DirectoryProperty getJarDescriptorCache();
+
     @OutputFile
     public abstract RegularFileProperty getReport();
 
     @TaskAction
     public void analyze() throws IOException {
         Set<Advice> projectAdvice = projectAdvice().getDependencyAdvice();
+        JarDescriptors descriptors = new JarDescriptors(
+                getModuleDescriptors().get(), getJarDescriptorCache().getAsFile().getOrNull());
+        Map<String, Map<String, ResolvedArtifactResult>> moduleJars = indexModuleJars();
 
         StringBuilder message = new StringBuilder();
         for (Map.Entry<String, String> sourceSet : getSourceSets().get().entrySet()) {
@@ -75,7 +91,9 @@ public abstract class ModuleDirectivesScopeCheck extends AbstractPostProcessingT
                             a.getToConfiguration(),
                             a.getCoordinates().getIdentifier(),
                             a.getCoordinates().getGradleVariantIdentification().getCapabilities(),
-                            inBuildFile))
+                            inBuildFile,
+                            moduleJars,
+                            descriptors))
                     .sorted()
                     .collect(Collectors.toList());
 
@@ -86,7 +104,9 @@ public abstract class ModuleDirectivesScopeCheck extends AbstractPostProcessingT
                             a.getFromConfiguration(),
                             a.getCoordinates().getIdentifier(),
                             a.getCoordinates().getGradleVariantIdentification().getCapabilities(),
-                            inBuildFile))
+                            inBuildFile,
+                            moduleJars,
+                            descriptors))
                     .sorted()
                     .collect(Collectors.toList());
 
@@ -125,18 +145,25 @@ public abstract class ModuleDirectivesScopeCheck extends AbstractPostProcessingT
         }
     }
 
-    private String declaration(String conf, String coordinates, Set<String> capabilities, boolean inBuildFile) {
+    private String declaration(
+            String conf,
+            String coordinates,
+            Set<String> capabilities,
+            boolean inBuildFile,
+            Map<String, Map<String, ResolvedArtifactResult>> moduleJars,
+            JarDescriptors descriptors) {
         String capability =
                 capabilities.isEmpty() ? coordinates : capabilities.iterator().next();
-        ResolvedArtifactResult moduleJar = getModuleArtifacts().get().stream()
-                .flatMap(c -> c.getArtifacts().stream())
-                .filter(a -> coordinatesEquals(coordinates, capability, a))
-                .findFirst()
-                .orElse(null);
+        ResolvedArtifactResult moduleJar = null;
+        Map<String, ResolvedArtifactResult> byCapability = moduleJars.get(coordinates);
+        int capabilityNameStart = capability.lastIndexOf(':') + 1;
+        if (byCapability != null && capabilityNameStart > 0) {
+            moduleJar = byCapability.get(capability.substring(capabilityNameStart));
+        }
         try {
             String moduleName = null;
             if (moduleJar != null) {
-                moduleName = readModuleNameFromJarFile(moduleJar.getFile());
+                moduleName = descriptors.get(moduleJar).getModuleName();
             }
             if (moduleName == null) {
                 moduleName = coordinates;
@@ -151,20 +178,37 @@ public abstract class ModuleDirectivesScopeCheck extends AbstractPostProcessingT
         }
     }
 
-    private boolean coordinatesEquals(String coordinates, String capability, ResolvedArtifactResult selected) {
-        ComponentIdentifier id = selected.getId().getComponentIdentifier();
-        List<Capability> capabilities = selected.getVariant().getCapabilities();
-        if (capabilities.stream().noneMatch(c -> capability.endsWith(":" + c.getName()))) {
-            return false;
+    /**
+     * @return the artifacts of all classpaths by coordinates and capability name; if several artifacts have the same
+     * coordinates and capability, the first one is used
+     */
+    private Map<String, Map<String, ResolvedArtifactResult>> indexModuleJars() {
+        Map<String, Map<String, ResolvedArtifactResult>> moduleJars = new HashMap<>();
+        for (ArtifactCollection classpath : getModuleArtifacts().get()) {
+            for (ResolvedArtifactResult artifact : classpath.getArtifacts()) {
+                String coordinates = coordinates(artifact.getId().getComponentIdentifier());
+                if (coordinates == null) {
+                    continue;
+                }
+                Map<String, ResolvedArtifactResult> byCapability =
+                        moduleJars.computeIfAbsent(coordinates, c -> new HashMap<>());
+                for (Capability capability : artifact.getVariant().getCapabilities()) {
+                    byCapability.putIfAbsent(capability.getName(), artifact);
+                }
+            }
         }
+        return moduleJars;
+    }
+
+    @Nullable
+    private String coordinates(ComponentIdentifier id) {
         if (id instanceof ModuleComponentIdentifier) {
-            return coordinates.equals(
-                    ((ModuleComponentIdentifier) id).getModuleIdentifier().toString());
+            return ((ModuleComponentIdentifier) id).getModuleIdentifier().toString();
         }
         if (id instanceof ProjectComponentIdentifier) {
-            return coordinates.equals(((ProjectComponentIdentifier) id).getProjectPath());
+            return ((ProjectComponentIdentifier) id).getProjectPath();
         }
-        return false;
+        return null;
     }
 
     @Nullable
@@ -1,35 +1,37 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.gradlex.javamodule.dependencies.tasks;
 
-import static org.gradlex.javamodule.dependencies.internal.utils.ModuleJar.isRealModule;
-import static org.gradlex.javamodule.dependencies.internal.utils.ModuleJar.readModuleNameFromJarFile;
-
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import javax.inject.Inject;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.ArtifactCollection;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.component.ComponentIdentifier;
 import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
 import org.gradle.api.artifacts.component.ProjectComponentIdentifier;
 import org.gradle.api.artifacts.result.ResolvedArtifactResult;
 import org.gradle.api.capabilities.Capability;
+import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.SourceSetContainer;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.work.DisableCachingByDefault;
+import org.gradle.workers.WorkerExecutor;
 import org.gradlex.javamodule.dependencies.JavaModuleDependenciesExtension;
+import org.gradlex.javamodule.dependencies.internal.utils.JarDescriptor;
+import org.gradlex.javamodule.dependencies.internal.utils.JarDescriptors;
 import org.gradlex.javamodule.dependencies.internal.utils.ModuleInfo;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
@@ -45,6 +47,15 @@ public abstract class ModulePathAnalysis extends DefaultTask {
     @PathSensitive(PathSensitivity.NAME_ONLY)
     public abstract ListProperty<Configuration> getClasspathConfigurations();
 
+    /**
+     * Location of the persistent cache for information read from Jars; not set if the cache is disabled.
+     */
+    @Internal
+    public abstract DirectoryProperty getJarDescriptorCache();
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
     @Inject
     public ModulePathAnalysis(Project project) {
         this.projectName = project.getName();
@@ -65,17 +76,38 @@ public abstract class ModulePathAnalysis extends DefaultTask {
         for (File folder : main.getJava().getSrcDirs()) {
             File file = new File(folder, "module-info.java");
             if (file.exists()) {
-                try (Stream<String> lines = Files.lines(file.toPath())) {
-                    String fileContent = lines.collect(Collectors.joining("\n"));
-                    ownModuleNamesPrefix =
-                            new ModuleInfo(fileContent).moduleNamePrefix(projectName, main.getName(), false);
-                }
+                ownModuleNamesPrefix = new ModuleInfo(ModuleInfo.readContent(file))
+                        .moduleNamePrefix(projectName, main.getName(), false);
                 break;
             }
         }
 
+        List<ResolvedArtifactResult> artifacts = new ArrayList<>();
+        List<ArtifactCollection> descriptors = new ArrayList<>();
         for (Configuration classPath : getClasspathConfigurations().get()) {
-            collect(classPath, usedMappings, nonModules, missingMappings, wrongMappings, ownModuleNamesPrefix);
+            for (ResolvedArtifactResult result : classPath.getIncoming().getArtifacts()) {
+                String fileName = result.getFile().getName();
+                // skip artifacts without Java classes (e.g. resources folder of local project)
+                if (fileName.endsWith(".jar") || fileName.equals("classes")) {
+                    artifacts.add(result);
+                }
+            }
+            descriptors.add(JarDescriptors.descriptorArtifacts(classPath));
+        }
+
+        // the same Jar is usually on several classpaths: inspect each Jar once, in parallel
+        Map<File, JarDescriptor> jars = new JarDescriptors(descriptors, getJarDescriptorCache().getAsFile().getOrNull())
+                .getAll(artifacts, getWorkerExecutor().noIsolation(), getTemporaryDir());
+
+        for (ResolvedArtifactResult result : artifacts) {
+            collect(
+                    result,
+                    jars.get(result.getFile()),
+                    usedMappings,
+                    nonModules,
+                    missingMappings,
+                    wrongMappings,
+                    ownModuleNamesPrefix);
         }
 
         p("");
@@ -137,68 +169,60 @@ public abstract class ModulePathAnalysis extends DefaultTask {
     }
 
     private void collect(
-            Configuration configuration,
+            ResolvedArtifactResult result,
+            JarDescriptor jar,
             Set<String> usedMappings,
             Set<String> nonModules,
             Set<String> missingMappings,
             Set<String> wrongMappings,
-            @Nullable String ownModuleNamesPrefix)
-            throws IOException {
-        for (ResolvedArtifactResult result : configuration.getIncoming().getArtifacts()) {
-            ComponentIdentifier id = result.getId().getComponentIdentifier();
-            File resultFile = result.getFile();
-
-            if (!resultFile.getName().endsWith(".jar") && !resultFile.getName().equals("classes")) {
-                // Not an artifact with Java classes (e.g. resources folder of local project)
-                continue;
-            }
-
-            String moduleName;
-            String version;
-            String ga;
-
-            if (id instanceof ProjectComponentIdentifier) {
-                String projectName = ((ProjectComponentIdentifier) id).getProjectName();
-                ga = id.getDisplayName();
-                version = "";
-                List<Capability> capabilities = result.getVariant().getCapabilities();
-                if (capabilities.isEmpty()) {
-                    moduleName = ownModuleNamesPrefix + "." + projectName;
-                } else {
-                    moduleName = ownModuleNamesPrefix + "."
-                            + capabilities.get(0).getName().replace("-", ".");
-                }
-            } else if (id instanceof ModuleComponentIdentifier) {
-                ModuleComponentIdentifier moduleVersion = (ModuleComponentIdentifier) id;
-                ga = moduleVersion.getGroup() + ":" + moduleVersion.getModule();
-                version = " (" + moduleVersion.getVersion() + ")";
-                moduleName = javaModuleDependencies.moduleName(ga).getOrNull();
+            @Nullable String ownModuleNamesPrefix) {
+        ComponentIdentifier id = result.getId().getComponentIdentifier();
+
+        String moduleName;
+        String version;
+        String ga;
+
+        if (id instanceof ProjectComponentIdentifier) {
+            String projectName = ((ProjectComponentIdentifier) id).getProjectName();
+            ga = id.getDisplayName();
+            version = "";
+            List<Capability> capabilities = result.getVariant().getCapabilities();
+            if (capabilities.isEmpty()) {
+                moduleName = ownModuleNamesPrefix + "." + projectName;
             } else {
-                ga = "";
-                version = "";
-                moduleName = null;
+                moduleName = ownModuleNamesPrefix + "."
+                        + capabilities.get(0).getName().replace("-", ".");
             }
+        } else if (id instanceof ModuleComponentIdentifier) {
+            ModuleComponentIdentifier moduleVersion = (ModuleComponentIdentifier) id;
+            ga = moduleVersion.getGroup() + ":" + moduleVersion.getModule();
+            version = " (" + moduleVersion.getVersion() + ")";
+            moduleName = javaModuleDependencies.moduleName(ga).getOrNull();
+        } else {
+            ga = "";
+            version = "";
+            moduleName = null;
+        }
 
-            String actualModuleName = readModuleNameFromJarFile(resultFile);
-            boolean isModuleForReal = actualModuleName != null;
+        String actualModuleName = jar.getModuleName();
+        boolean isModuleForReal = actualModuleName != null;
 
-            if (moduleName != null && isModuleForReal) {
-                if (isRealModule(resultFile)) {
-                    usedMappings.add(moduleName + " -> " + ga + version);
-                } else {
-                    usedMappings.add("[AUTO] " + moduleName + " -> " + ga + version);
-                }
-            }
-            if (moduleName == null && !isModuleForReal) {
-                nonModules.add(ga + version);
-            }
-            if (moduleName == null && isModuleForReal) {
-                missingMappings.add("moduleNameToGA.put(\"" + actualModuleName + "\", \"" + ga + "\")");
-            }
-            if (moduleName != null && !isModuleForReal) {
-                wrongMappings.add(moduleName + " -> " + ga + version);
+        if (moduleName != null && isModuleForReal) {
+            if (jar.isRealModule()) {
+                usedMappings.add(moduleName + " -> " + ga + version);
+            } else {
+                usedMappings.add("[AUTO] " + moduleName + " -> " + ga + version);
             }
         }
+        if (moduleName == null && !isModuleForReal) {
+            nonModules.add(ga + version);
+        }
+        if (moduleName == null && isModuleForReal) {
+            missingMappings.add("moduleNameToGA.put(\"" + actualModuleName + "\", \"" + ga + "\")");
+        }
+        if (moduleName != null && !isModuleForReal) {
+            wrongMappings.add(moduleName + " -> " + ga + version);
+        }
     }
 
     private void p(String toPrint) {
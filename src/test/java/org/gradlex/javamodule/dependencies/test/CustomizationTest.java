@@ -32,6 +32,25 @@ class CustomizationTest {
         assertThat(result.getOutput()).contains("[jakarta.mail-2.0.1.jar, jakarta.activation-2.0.1.jar]");
     }
 
+    @Test
+    void can_add_custom_mapping_after_module_names_were_resolved() {
+        build.appBuildFile.appendText("""
+            afterEvaluate {
+                println("before: " + javaModuleDependencies.ga("jakarta.mail").get())
+                javaModuleDependencies.moduleNameToGA.put("jakarta.mail", "com.sun.mail:jakarta.mail")
+                javaModuleDependencies.moduleNamePrefixToGroup.put("org.example.product.", "org.example")
+                println("after: " + javaModuleDependencies.ga("jakarta.mail").get())
+                println("after: " + javaModuleDependencies.ga("org.example.product.core").get())
+            }""");
+
+        var result = build.build();
+
+        assertThat(result.getOutput())
+                .contains("before: jakarta.mail:jakarta.mail-api")
+                .contains("after: com.sun.mail:jakarta.mail")
+                .contains("after: org.example:core");
+    }
+
     @Test
     void can_add_custom_mapping_via_properties_file_in_default_location() {
         var customModulesPropertiesFile = build.file("gradle/modules.properties");
@@ -0,0 +1,40 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.gradlex.javamodule.dependencies.test.fixture.GradleBuild;
+import org.junit.jupiter.api.Test;
+
+class JdkModulesTest {
+
+    GradleBuild build = new GradleBuild();
+
+    @Test
+    void does_not_add_dependencies_for_modules_of_the_jdk_gradle_runs_on() {
+        build.appModuleInfoFile.writeText("""
+            module org.gradlex.test.app {
+                requires java.sql;
+                requires jdk.random;
+            }""");
+
+        var result = build.printCompileJars();
+
+        assertThat(result.getOutput()).contains("[]");
+    }
+
+    @Test
+    void does_not_add_dependencies_for_modules_of_the_toolchain() {
+        build.appBuildFile.appendText("""
+            java.toolchain.languageVersion.set(JavaLanguageVersion.of(JavaVersion.current().majorVersion))""");
+        build.appModuleInfoFile.writeText("""
+            module org.gradlex.test.app {
+                requires java.sql;
+                requires jdk.random;
+            }""");
+
+        var result = build.printCompileJars();
+
+        assertThat(result.getOutput()).contains("[]");
+    }
+}
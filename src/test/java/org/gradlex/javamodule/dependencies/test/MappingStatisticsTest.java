@@ -0,0 +1,31 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.gradlex.javamodule.dependencies.test.fixture.GradleBuild;
+import org.junit.jupiter.api.Test;
+
+class MappingStatisticsTest {
+
+    GradleBuild build = new GradleBuild();
+
+    @Test
+    void writes_statistics_to_the_build_directory_of_the_root_project() {
+        build.file("gradle.properties").writeText("org.gradlex.java-module-dependencies.mapping-statistics=true");
+        build.file("build.gradle.kts").writeText("layout.buildDirectory.set(layout.projectDirectory.dir(\"out\"))");
+        build.appModuleInfoFile.writeText("""
+            module org.gradlex.test.app {
+                requires org.slf4j;
+            }""");
+        build.appBuildFile.appendText("""
+            dependencies.constraints { javaModuleDependencies { implementation(gav("org.slf4j", "2.0.16")) } }""");
+
+        build.printCompileJars();
+
+        var report = build.projectDir.file("out/reports/java-module-dependencies/mapping-statistics.txt");
+        assertThat(report.getAsPath()).exists();
+        assertThat(report.getAsPath()).content().startsWith("Module Name resolution statistics");
+        assertThat(build.projectDir.getAsPath().resolve("build/reports")).doesNotExist();
+    }
+}
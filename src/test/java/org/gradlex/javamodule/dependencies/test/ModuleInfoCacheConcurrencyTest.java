@@ -0,0 +1,94 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.gradlex.javamodule.dependencies.internal.utils.ModuleInfo;
+import org.gradlex.javamodule.dependencies.internal.utils.ModuleInfoCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Many projects, configured in parallel, look up the same module-info.java files in the shared cache at the same
+ * time. Every file must be parsed only once, so all projects see the same ModuleInfo instances.
+ */
+class ModuleInfoCacheConcurrencyTest {
+
+    static final int MODULES = 50;
+    static final int PROJECTS = 16;
+
+    @TempDir
+    File projectDir;
+
+    @Test
+    void concurrent_lookups_parse_each_module_info_once() throws Exception {
+        var folders = createModules();
+        var root = ProjectBuilder.builder().withProjectDir(projectDir).build();
+        var projects = new ArrayList<Project>();
+        for (int i = 0; i < PROJECTS; i++) {
+            projects.add(ProjectBuilder.builder().withName("p" + i).withParent(root).build());
+        }
+        var cache = ModuleInfoCache.register(root.getGradle(), root.getRootDir(), root.getProviders(), false)
+                .get();
+
+        ExecutorService executor = Executors.newFixedThreadPool(PROJECTS);
+        try {
+            var start = new CountDownLatch(1);
+            var results = new ArrayList<Future<List<ModuleInfo>>>();
+            for (Project project : projects) {
+                var providers = project.getProviders();
+                results.add(executor.submit(() -> {
+                    start.await();
+                    var seen = new ArrayList<ModuleInfo>();
+                    for (File folder : folders) {
+                        seen.add(cache.get(folder, providers));
+                    }
+                    return seen;
+                }));
+            }
+            start.countDown();
+
+            var first = results.get(0).get(1, TimeUnit.MINUTES);
+            for (Future<List<ModuleInfo>> result : results) {
+                var seen = result.get(1, TimeUnit.MINUTES);
+                for (int i = 0; i < folders.size(); i++) {
+                    assertThat(seen.get(i)).isSameAs(first.get(i));
+                }
+            }
+            for (int i = 0; i < MODULES; i++) {
+                assertThat(first.get(i).getModuleName()).isEqualTo("org.example.module" + i);
+            }
+            assertThat(first.get(MODULES)).isSameAs(ModuleInfo.EMPTY);
+            // every folder needs at least one parse, so this is exactly one per folder
+            assertThat(cache.getParsedFolderCount()).isEqualTo(folders.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<File> createModules() throws IOException {
+        var folders = new ArrayList<File>();
+        for (int i = 0; i < MODULES; i++) {
+            var folder = new File(projectDir, "module" + i + "/src/main/java");
+            assertThat(folder.mkdirs()).isTrue();
+            Files.writeString(
+                    new File(folder, "module-info.java").toPath(),
+                    "module org.example.module" + i + " { requires org.slf4j; }");
+            folders.add(folder);
+        }
+        folders.add(new File(projectDir, "no-module/src/main/java"));
+        return folders;
+    }
+}
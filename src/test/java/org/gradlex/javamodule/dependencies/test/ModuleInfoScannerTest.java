@@ -0,0 +1,180 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.gradlex.javamodule.dependencies.internal.utils.ModuleInfo;
+import org.gradlex.javamodule.dependencies.internal.utils.ModuleInfoScanner;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+/**
+ * Runs the {@link ModuleInfoScanner} and the full Java parser over the same module-info.java files and
+ * checks that both produce the same {@link ModuleInfo}.
+ */
+class ModuleInfoScannerTest {
+
+    static final List<String> SUPPORTED = List.of(
+            "",
+            "// no module",
+            "module some.thing {}",
+            "open module some.thing { }",
+            """
+            module some.thing { // module some.thing.else
+                // requires com.bla.blub;
+                requires transitive foo.bar.la;
+                /* requires com.bla.blub;
+                requires transitive foo.bar.la;
+                */
+                requires static foo.bar.lo;
+                requires static transitive foo.bar.lu;
+                requires transitive static foo.bar.le;
+                requires foo . bar . li;
+            }""",
+            """
+            module some.thing {
+                /*odd comment*/ requires transitive foo.bar.la;
+                requires/* weird comment*/ static foo.bar.lo;
+                requires /*something to say*/foo.bar.li; /*
+                    requires only.a.comment
+                */
+            }""",
+            """
+            module some.thing {
+                requires /*runtime*/ foo.bar.a;
+                requires /* runtime */ foo.bar.b;
+                requires /**runtime*/ foo.bar.c;
+                requires // runtime
+                    foo.bar.d;
+                requires /*runtime*/
+                    foo.bar.e;
+                requires /*runtime*/ static foo.bar.f;
+                requires static /*runtime*/ foo.bar.g;
+                /*runtime*/ requires foo.bar.h;
+                requires foo.bar.i; // runtime
+            }""",
+            """
+            import org.example.api.Service;
+            import org.example.impl.*;
+            import static org.example.Util.helper;
+
+            module some.thing {
+                uses Service;
+                exports org.example.api;
+                exports org.example.internal to some.other, some.more;
+                opens org.example.impl;
+                provides Service with org.example.impl.ServiceImpl, OtherImpl;
+                provides org.example.api.Service with helper;
+                provides org.example.Other with impl;
+            }""",
+            """
+            import org.example.api.Service;
+
+            module some.thing {
+                exports /* api */ org.example.api;
+                exports org . example . spi to some.other;
+                exports org.example.internal to // friends
+                    some.other, some.more;
+                opens org.example.impl to some.framework;
+                opens org.example.resources;
+                uses Service;
+                uses org.example.api.Other;
+            }""",
+            """
+            /**
+             * Documentation
+             */
+            @Deprecated
+            @SuppressWarnings({"module", "exports)"})
+            @org.example.Marker(value = 'x', count = 1)
+            open module some.thing {
+                requires foo.bar.la;
+            } // trailing comment
+            /* trailing comment */
+            """);
+
+    static final List<String> UNSUPPORTED = List.of(
+            """
+            module some.thing {
+                requires /*x*/ /*runtime*/ foo.bar.la;
+            }""",
+            """
+            module some.thing {
+                requires foo.bar.la // runtime
+                ;
+            }""",
+            """
+            module some.thing {
+                provides foo.Service // comment
+                    with foo.Impl;
+            }""",
+            """
+            module some.thing {
+                requires transitive;
+            }""",
+            """
+            module some.thing {
+                requires \\u0066oo;
+            }""",
+            "package some.thing; class NotAModule {}",
+            "module some.thing { requires foo }",
+            "module some.thing { } garbage");
+
+    @TestFactory
+    Stream<DynamicTest> scanner_handles_supported_syntax_like_parser() {
+        return SUPPORTED.stream().map(content -> DynamicTest.dynamicTest(displayName(content), () -> {
+            assertThat(new ModuleInfoScanner(content).scan()).isTrue();
+            assertSameResult(content);
+        }));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> falls_back_to_parser_for_unsupported_syntax() {
+        return UNSUPPORTED.stream().map(content -> DynamicTest.dynamicTest(displayName(content), () -> {
+            assertThat(new ModuleInfoScanner(content).scan()).isFalse();
+            assertSameResult(content);
+        }));
+    }
+
+    private static String displayName(String content) {
+        return content.isEmpty() ? "<empty>" : content;
+    }
+
+    @Test
+    void scanner_handles_all_module_info_files_of_samples() throws IOException {
+        List<Path> moduleInfoFiles;
+        try (Stream<Path> files = Files.walk(Path.of("samples"))) {
+            moduleInfoFiles = files.filter(f -> f.getFileName().toString().equals("module-info.java"))
+                    .collect(Collectors.toList());
+        }
+
+        assertThat(moduleInfoFiles).isNotEmpty();
+        for (Path file : moduleInfoFiles) {
+            String content = Files.readString(file);
+            assertThat(new ModuleInfoScanner(content).scan()).as(file.toString()).isTrue();
+            assertSameResult(content);
+        }
+    }
+
+    private void assertSameResult(String content) {
+        var scanned = new ModuleInfo(content);
+        var parsed = ModuleInfo.parseWithJavaParser(content);
+
+        assertThat(scanned).isEqualTo(parsed);
+        assertThat(scanned.getModuleName()).isEqualTo(parsed.getModuleName());
+        for (ModuleInfo.Directive directive : ModuleInfo.Directive.values()) {
+            assertThat(scanned.get(directive)).as(directive.literal()).isEqualTo(parsed.get(directive));
+        }
+        assertThat(scanned.getProvides()).isEqualTo(parsed.getProvides());
+        assertThat(scanned.getExports()).isEqualTo(parsed.getExports());
+        assertThat(scanned.getOpens()).isEqualTo(parsed.getOpens());
+        assertThat(scanned.getUses()).isEqualTo(parsed.getUses());
+    }
+}
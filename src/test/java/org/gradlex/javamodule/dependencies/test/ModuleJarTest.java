@@ -0,0 +1,171 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import org.gradlex.javamodule.dependencies.internal.utils.ModuleJar;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+class ModuleJarTest {
+
+    @TempDir
+    File jarDir;
+
+    @Test
+    void reads_module_name_from_versioned_module_info_of_multi_release_jar() throws IOException {
+        var manifest = manifest();
+        manifest.getMainAttributes().putValue("Multi-Release", "true");
+        var jar = jar(manifest, entry -> {
+            entry.put("org/example/Lib.class", new byte[0]);
+            entry.put("META-INF/versions/11/module-info.class", moduleInfoClass("org.example.lib"));
+            entry.put("META-INF/versions/11/org/example/java11/Lib.class", new byte[0]);
+        });
+
+        var descriptor = ModuleJar.inspect(jar);
+
+        assertThat(descriptor.getModuleName()).isEqualTo("org.example.lib");
+        assertThat(descriptor.isRealModule()).isTrue();
+        assertThat(descriptor.isMultiRelease()).isTrue();
+        assertThat(descriptor.getManifestAttributes()).containsEntry("Multi-Release", "true");
+        assertThat(descriptor.getPackages()).containsExactly("org.example", "org.example.java11");
+    }
+
+    @Test
+    void ignores_versioned_module_info_if_jar_is_not_multi_release() throws IOException {
+        var jar = jar(manifest(), entry -> {
+            entry.put("org/example/Lib.class", new byte[0]);
+            entry.put("META-INF/versions/11/module-info.class", moduleInfoClass("org.example.lib"));
+        });
+
+        var descriptor = ModuleJar.inspect(jar);
+
+        assertThat(descriptor.getModuleName()).isNull();
+        assertThat(descriptor.isRealModule()).isFalse();
+        assertThat(descriptor.getPackages()).containsExactly("org.example");
+    }
+
+    @Test
+    void prefers_automatic_module_name_over_module_info() throws IOException {
+        var manifest = manifest();
+        manifest.getMainAttributes().putValue("Automatic-Module-Name", "org.example.automatic");
+        var jar = jar(manifest, entry -> {
+            entry.put("module-info.class", moduleInfoClass("org.example.lib"));
+            entry.put("org/example/Lib.class", new byte[0]);
+        });
+
+        var descriptor = ModuleJar.inspect(jar);
+
+        assertThat(descriptor.getModuleName()).isEqualTo("org.example.automatic");
+        assertThat(descriptor.isRealModule()).isTrue();
+        assertThat(descriptor.isMultiRelease()).isFalse();
+        assertThat(descriptor.getManifestAttributes()).containsEntry("Automatic-Module-Name", "org.example.automatic");
+    }
+
+    @Test
+    void treats_a_file_that_is_not_a_zip_as_non_module() throws IOException {
+        var file = new File(jarDir, "broken.jar");
+        Files.write(file.toPath(), "not a zip".getBytes());
+
+        var descriptor = ModuleJar.inspect(file);
+
+        assertThat(descriptor.getModuleName()).isNull();
+        assertThat(descriptor.isRealModule()).isFalse();
+        assertThat(descriptor.isMultiRelease()).isFalse();
+        assertThat(descriptor.getManifestAttributes()).isEmpty();
+        assertThat(descriptor.getPackages()).isEmpty();
+    }
+
+    @Test
+    void reads_packages_of_a_plain_jar() throws IOException {
+        var jar = jar(null, entry -> {
+            entry.put("org/example/Lib.class", new byte[0]);
+            entry.put("org/example/impl/LibImpl.class", new byte[0]);
+            entry.put("org/example/resources/lib.properties", new byte[0]);
+            entry.put("META-INF/org/example/Ignored.class", new byte[0]);
+            entry.put("Default.class", new byte[0]);
+        });
+
+        var descriptor = ModuleJar.inspect(jar);
+
+        assertThat(descriptor.getModuleName()).isNull();
+        assertThat(descriptor.isRealModule()).isFalse();
+        assertThat(descriptor.isMultiRelease()).isFalse();
+        assertThat(descriptor.getManifestAttributes()).isEmpty();
+        assertThat(descriptor.getPackages()).containsExactly("org.example", "org.example.impl");
+    }
+
+    @Test
+    void collects_packages_of_a_class_folder_only_when_they_are_requested() throws IOException {
+        var classFolder = new File(jarDir, "classes");
+        write(new File(classFolder, "module-info.class"), moduleInfoClass("org.example.lib"));
+        write(new File(classFolder, "org/example/Lib.class"), new byte[0]);
+
+        var descriptor = ModuleJar.inspect(classFolder);
+        write(new File(classFolder, "org/example/impl/LibImpl.class"), new byte[0]);
+
+        assertThat(descriptor.getModuleName()).isEqualTo("org.example.lib");
+        assertThat(descriptor.isRealModule()).isTrue();
+        assertThat(descriptor.isMultiRelease()).isFalse();
+        assertThat(descriptor.getPackages()).containsExactly("org.example", "org.example.impl");
+    }
+
+    @Test
+    void treats_a_missing_class_folder_as_non_module() throws IOException {
+        var descriptor = ModuleJar.inspect(new File(jarDir, "classes"));
+
+        assertThat(descriptor.getModuleName()).isNull();
+        assertThat(descriptor.isRealModule()).isFalse();
+        assertThat(descriptor.getPackages()).isEmpty();
+    }
+
+    private static void write(File file, byte[] content) throws IOException {
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content);
+    }
+
+    private static Manifest manifest() {
+        var manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        return manifest;
+    }
+
+    private File jar(Manifest manifest, Entries entries) throws IOException {
+        var jar = new File(jarDir, "lib.jar");
+        try (var out = manifest == null
+                ? new JarOutputStream(Files.newOutputStream(jar.toPath()))
+                : new JarOutputStream(Files.newOutputStream(jar.toPath()), manifest)) {
+            entries.add((name, content) -> {
+                out.putNextEntry(new JarEntry(name));
+                out.write(content);
+                out.closeEntry();
+            });
+        }
+        return jar;
+    }
+
+    private static byte[] moduleInfoClass(String moduleName) {
+        var classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V9, Opcodes.ACC_MODULE, "module-info", null, null, null);
+        classWriter.visitModule(moduleName, 0, null).visitEnd();
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private interface Entries {
+        void add(Entry entry) throws IOException;
+    }
+
+    private interface Entry {
+        void put(String name, byte[] content) throws IOException;
+    }
+}
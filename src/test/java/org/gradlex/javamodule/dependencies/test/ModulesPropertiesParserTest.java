@@ -0,0 +1,38 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.io.File;
+import org.gradlex.javamodule.dependencies.internal.utils.ModulesPropertiesParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ModulesPropertiesParserTest {
+
+    @TempDir
+    File projectDir;
+
+    @Test
+    void parses_the_same_content_only_once() {
+        var file = new File(projectDir, "gradle/modules.properties");
+
+        var first = ModulesPropertiesParser.parse(file, "org.example.lib=org.example:lib\n");
+        var second = ModulesPropertiesParser.parse(file, "org.example.lib=org.example:lib\n");
+
+        assertThat(first).containsExactly(entry("org.example.lib", "org.example:lib"));
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void parses_again_if_the_content_changed() {
+        var file = new File(projectDir, "gradle/modules.properties");
+
+        var first = ModulesPropertiesParser.parse(file, "org.example.lib=org.example:lib\n");
+        var changed = ModulesPropertiesParser.parse(file, "org.example.lib=org.example:lib-core\n");
+
+        assertThat(first).containsExactly(entry("org.example.lib", "org.example:lib"));
+        assertThat(changed).containsExactly(entry("org.example.lib", "org.example:lib-core"));
+    }
+}
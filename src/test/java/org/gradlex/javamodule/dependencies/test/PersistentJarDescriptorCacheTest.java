@@ -0,0 +1,94 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import org.gradlex.javamodule.dependencies.internal.utils.JarDescriptor;
+import org.gradlex.javamodule.dependencies.internal.utils.PersistentJarDescriptorCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersistentJarDescriptorCacheTest {
+
+    @TempDir
+    File cacheDir;
+
+    @TempDir
+    File jarDir;
+
+    @Test
+    void stores_and_restores_jar_descriptors() throws IOException {
+        var jar = jar("org.example.lib");
+
+        var stored = PersistentJarDescriptorCache.get(cacheDir, jar);
+        var restored = PersistentJarDescriptorCache.get(cacheDir, jar);
+
+        assertThat(cacheDir.list()).anyMatch(name -> name.endsWith(".bin"));
+        assertAutomaticModule(stored, "org.example.lib");
+        assertAutomaticModule(restored, "org.example.lib");
+    }
+
+    @Test
+    void does_not_open_a_jar_again_if_path_size_and_modification_time_are_unchanged() throws IOException {
+        var jar = jar("org.example.lib");
+        var length = jar.length();
+        var lastModified = jar.lastModified();
+        PersistentJarDescriptorCache.get(cacheDir, jar);
+
+        jar = jar("org.example.lix");
+        assertThat(jar.length()).isEqualTo(length);
+        assertThat(jar.setLastModified(lastModified)).isTrue();
+
+        assertAutomaticModule(PersistentJarDescriptorCache.get(cacheDir, jar), "org.example.lib");
+    }
+
+    @Test
+    void inspects_a_jar_again_if_it_changed() throws IOException {
+        var jar = jar("org.example.lib");
+        PersistentJarDescriptorCache.get(cacheDir, jar);
+
+        jar = jar("org.example.lib.core");
+        assertThat(jar.setLastModified(jar.lastModified() - 10_000)).isTrue();
+
+        assertAutomaticModule(PersistentJarDescriptorCache.get(cacheDir, jar), "org.example.lib.core");
+    }
+
+    @Test
+    void ignores_corrupted_entries() throws IOException {
+        var jar = jar("org.example.lib");
+        PersistentJarDescriptorCache.get(cacheDir, jar);
+        for (File entry : cacheDir.listFiles((dir, name) -> name.endsWith(".bin"))) {
+            Files.write(entry.toPath(), new byte[] {0, 0, 0, 1, 0});
+        }
+
+        assertAutomaticModule(PersistentJarDescriptorCache.get(cacheDir, jar), "org.example.lib");
+        assertAutomaticModule(PersistentJarDescriptorCache.get(cacheDir, jar), "org.example.lib");
+    }
+
+    private File jar(String automaticModuleName) throws IOException {
+        var manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("Automatic-Module-Name", automaticModuleName);
+        var jar = new File(jarDir, "lib.jar");
+        try (var out = new JarOutputStream(Files.newOutputStream(jar.toPath()), manifest)) {
+            out.putNextEntry(new JarEntry("org/example/Lib.class"));
+            out.closeEntry();
+        }
+        return jar;
+    }
+
+    private void assertAutomaticModule(JarDescriptor descriptor, String moduleName) {
+        assertThat(descriptor.getModuleName()).isEqualTo(moduleName);
+        assertThat(descriptor.isRealModule()).isFalse();
+        assertThat(descriptor.isMultiRelease()).isFalse();
+        assertThat(descriptor.getManifestAttributes()).containsEntry("Automatic-Module-Name", moduleName);
+        assertThat(descriptor.getPackages()).containsExactly("org.example");
+    }
+}
@@ -0,0 +1,73 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.gradlex.javamodule.dependencies.internal.utils.ModuleInfo.Directive.REQUIRES;
+import static org.gradlex.javamodule.dependencies.internal.utils.ModuleInfo.Directive.REQUIRES_RUNTIME;
+import static org.gradlex.javamodule.dependencies.internal.utils.ModuleInfo.Directive.REQUIRES_STATIC;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import org.gradlex.javamodule.dependencies.internal.utils.ModuleInfo;
+import org.gradlex.javamodule.dependencies.internal.utils.PersistentModuleInfoCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersistentModuleInfoCacheTest {
+
+    static final String CONTENT = """
+            import org.example.api.Service;
+            module some.thing {
+                requires foo.bar.la;
+                requires static foo.bar.lo;
+                requires /*runtime*/ foo.bar.li;
+                provides Service with org.example.impl.ServiceImpl;
+                exports org.example.api to foo.bar.la;
+                uses Service;
+            }""";
+
+    @TempDir
+    File cacheDir;
+
+    @Test
+    void stores_and_restores_parsed_module_info() {
+        var stored = PersistentModuleInfoCache.get(cacheDir, CONTENT);
+        var restored = PersistentModuleInfoCache.get(cacheDir, CONTENT);
+
+        assertThat(cacheDir.list()).anyMatch(name -> name.endsWith(".bin"));
+        assertRestored(stored);
+        assertRestored(restored);
+    }
+
+    @Test
+    void ignores_corrupted_entries() throws IOException {
+        PersistentModuleInfoCache.get(cacheDir, CONTENT);
+        for (File entry : requireEntries()) {
+            Files.write(entry.toPath(), new byte[] {0, 0, 0, 1, 0});
+        }
+
+        assertRestored(PersistentModuleInfoCache.get(cacheDir, CONTENT));
+        assertRestored(PersistentModuleInfoCache.get(cacheDir, CONTENT));
+    }
+
+    private File[] requireEntries() {
+        File[] entries = cacheDir.listFiles((dir, name) -> name.endsWith(".bin"));
+        assertThat(entries).hasSize(1);
+        return entries;
+    }
+
+    private void assertRestored(ModuleInfo moduleInfo) {
+        assertThat(moduleInfo).isEqualTo(new ModuleInfo(CONTENT));
+        assertThat(moduleInfo.getModuleName()).isEqualTo("some.thing");
+        assertThat(moduleInfo.get(REQUIRES)).containsExactly("foo.bar.la");
+        assertThat(moduleInfo.get(REQUIRES_STATIC)).containsExactly("foo.bar.lo");
+        assertThat(moduleInfo.get(REQUIRES_RUNTIME)).containsExactly("foo.bar.li");
+        assertThat(moduleInfo.getProvides())
+                .isEqualTo(Map.of("org.example.api.Service", List.of("org.example.impl.ServiceImpl")));
+        assertThat(moduleInfo.getExports()).isEqualTo(Map.of("org.example.api", List.of("foo.bar.la")));
+        assertThat(moduleInfo.getUses()).containsExactly("org.example.api.Service");
+    }
+}
@@ -0,0 +1,80 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.gradlex.javamodule.dependencies.internal.utils.ProjectNameIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ProjectNameIndexTest {
+
+    @TempDir
+    File projectDir;
+
+    Project root;
+
+    @BeforeEach
+    void setup() {
+        root = ProjectBuilder.builder().withProjectDir(projectDir).build();
+    }
+
+    @Test
+    void finds_projects_by_dotted_name() {
+        project("my-lib", root);
+
+        var index = ProjectNameIndex.build(root.getSubprojects());
+
+        assertThat(index.perfectMatch("my.lib").getPath()).isEqualTo(":my-lib");
+        assertThat(index.perfectMatch("my-lib")).isNull();
+        assertThat(index.perfectMatch("my")).isNull();
+    }
+
+    @Test
+    void finds_the_longest_project_name_that_is_a_prefix() {
+        project("core", root);
+        project("core-api", root);
+
+        var index = ProjectNameIndex.build(root.getSubprojects());
+
+        assertThat(index.perfectMatch("core").getName()).isEqualTo("core");
+        assertThat(index.perfectMatch("core.api").getName()).isEqualTo("core-api");
+        assertThat(index.longestPrefixMatch("core.api.test.fixtures").getName()).isEqualTo("core-api");
+        assertThat(index.longestPrefixMatch("core.api.test").getName()).isEqualTo("core-api");
+        assertThat(index.longestPrefixMatch("core.impl").getName()).isEqualTo("core");
+        assertThat(index.longestPrefixMatch("core.api").getName()).isEqualTo("core");
+    }
+
+    @Test
+    void does_not_match_partial_segments() {
+        project("core", root);
+
+        var index = ProjectNameIndex.build(root.getSubprojects());
+
+        assertThat(index.longestPrefixMatch("core")).isNull();
+        assertThat(index.longestPrefixMatch("corex.api")).isNull();
+        assertThat(index.longestPrefixMatch("co.api")).isNull();
+    }
+
+    @Test
+    void uses_the_first_project_if_dotted_names_collide() {
+        project("lib", project("one", root));
+        project("lib", project("two", root));
+        project("my-lib", root);
+        project("my.lib", root);
+
+        var index = ProjectNameIndex.build(root.getSubprojects());
+
+        assertThat(index.perfectMatch("lib").getPath()).isEqualTo(":one:lib");
+        assertThat(index.longestPrefixMatch("lib.test").getPath()).isEqualTo(":one:lib");
+        assertThat(index.perfectMatch("my.lib").getPath()).isEqualTo(":my-lib");
+    }
+
+    private Project project(String name, Project parent) {
+        return ProjectBuilder.builder().withName(name).withParent(parent).build();
+    }
+}
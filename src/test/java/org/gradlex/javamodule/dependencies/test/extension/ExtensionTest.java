@@ -47,4 +47,42 @@ class ExtensionTest {
             org.example.app.mod8.ab
             org.example.app.mod.z7.i9""");
     }
+
+    @Test
+    void resolving_all_requires_at_once_gives_the_same_result_as_resolving_them_one_by_one() {
+        build.libModuleInfoFile.writeText("module org.gradlex.test.lib {}");
+        build.file("lib/src/testFixtures/java/module-info.java")
+                .writeText("module org.gradlex.test.lib.test.fixtures {}");
+        build.appBuildFile.appendText("""
+            val requires = listOf(
+                "org.gradlex.test.lib",
+                "org.gradlex.test.lib.test.fixtures",
+                "org.slf4j",
+                "java.sql",
+                "org.example.unknown"
+            )
+            fun describe(dependencies: List<Dependency>) = dependencies.map { d ->
+                "${d.group}:${d.name}:${d.version} ${(d as ModuleDependency).requestedCapabilities.map { it.name }} (${d.reason})"
+            }
+            val main = sourceSets.main.get()
+            javaModuleDependencies {
+                val all = resolveAll(requires, main).get()
+                println("resolveAll: " + describe(all))
+                val oneByOne = requires.mapNotNull { create(it, main).orNull }
+                println("create: " + describe(oneByOne))
+            }""");
+
+        var result = build.runner("help").build();
+
+        var expected = "[com.example:lib:unspecified [] (org.gradlex.test.lib), "
+                + "com.example:lib:unspecified [lib-test-fixtures] (org.gradlex.test.lib.test.fixtures), "
+                + "org.slf4j:slf4j-api:null [] (org.slf4j)]";
+        assertThat(result.getOutput()).contains("resolveAll: " + expected);
+        assertThat(result.getOutput()).contains("create: " + expected);
+        // the unmapped Module Name is reported by both
+        assertThat(result.getOutput()
+                        .lines()
+                        .filter(line -> line.contains("org.example.unknown=group:artifact missing")))
+                .hasSize(2);
+    }
 }
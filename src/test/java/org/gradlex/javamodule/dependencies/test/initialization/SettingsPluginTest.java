@@ -314,4 +314,96 @@ class SettingsPluginTest {
 
             """);
     }
+
+    @Test
+    void projects_use_the_wiring_computed_in_settings() {
+        build.file("gradle.properties").writeText("org.gradlex.java-module-dependencies.mapping-statistics=true");
+        build.settingsFile.appendText("""
+            javaModules {
+                directory(".") {
+                    group = "org.example"
+                    plugin("java-library")
+                    plugin("java-test-fixtures")
+                }
+            }""");
+        build.libModuleInfoFile.writeText("module abc.lib { }");
+        build.file("lib/src/testFixtures/java/module-info.java").writeText("module abc.lib.test.fixtures { }");
+        build.appModuleInfoFile.writeText("""
+            module org.gradlex.test.app {
+                requires abc.lib;
+                requires abc.lib.test.fixtures;
+            }""");
+        build.appBuildFile.writeText("""
+            tasks.register("printCompileJars") {
+                inputs.files(configurations.compileClasspath)
+                doLast { println(inputs.files.map { it.name }) }
+            }""");
+
+        var result = build.runner(":app:printCompileJars", "-q").build();
+
+        assertThat(result.getOutput()).contains("[lib.jar, lib-test-fixtures.jar]");
+        var statistics = build.projectDir
+                .file("build/reports/java-module-dependencies/mapping-statistics.txt")
+                .getAsPath();
+        // all 'requires' of the app were looked up in the wiring; none was resolved by Module Name
+        assertThat(statistics).content().containsPattern("wiring +2 ");
+        assertThat(statistics).content().containsPattern("local module +2\\n");
+        assertThat(statistics).content().doesNotContain("create");
+    }
+
+    @Test
+    void includes_modules_that_are_parsed_in_parallel_in_directory_order() {
+        build.settingsFile.appendText("""
+            javaModules {
+                directory("modules") { plugin("java-library") }
+            }
+            println("Included: " + rootProject.children.map { it.name })""");
+        for (String name : new String[] {"e", "c", "a", "d", "b", "f"}) {
+            build.file("modules/" + name + "/src/main/java/module-info.java")
+                    .writeText("module org.example." + name + " { }");
+        }
+
+        var result = build.runner("help").build();
+
+        assertThat(result.getOutput()).contains("Included: [a, b, c, d, e, f]");
+    }
+
+    @Test
+    void handles_a_broken_module_info_like_without_parallel_parsing() {
+        for (String name : new String[] {"e", "c", "b", "f"}) {
+            build.file("modules/" + name + "/src/main/java/module-info.java")
+                    .writeText("module org.example." + name + " { }");
+        }
+        build.file("modules/a/src/main/java/module-info.java")
+                .writeText("module org.example.a { requires org.example.d; }");
+        // the name of a broken module is not known, so no local module is found for 'requires org.example.d'
+        build.file("modules/d/src/main/java/module-info.java").writeText("module org.example.d { requires }");
+
+        // 'module()' parses each module-info.java on its own
+        build.settingsFile.appendText("""
+            javaModules {
+                listOf("a", "b", "c", "d", "e", "f").forEach { module("modules/$it") { plugin("java-library") } }
+            }
+            println("Included: " + rootProject.children.map { it.name })""");
+        var sequential = build.runner("compileJava").buildAndFail();
+
+        // 'directory()' parses all module-info.java files in parallel
+        build.settingsFile.writeText("""
+            plugins { id("org.gradlex.java-module-dependencies") }
+            javaModules {
+                directory("modules") { plugin("java-library") }
+            }
+            println("Included: " + rootProject.children.map { it.name })""");
+        var parallel = build.runner("compileJava").buildAndFail();
+
+        assertThat(sequential.getOutput()).contains("Included: [a, b, c, d, e, f]");
+        assertThat(parallel.getOutput()).contains("Included: [a, b, c, d, e, f]");
+        assertThat(sequential.getOutput()).contains("org.example.d=group:artifact missing");
+        assertThat(parallel.getOutput()).contains("org.example.d=group:artifact missing");
+        assertThat(failure(parallel.getOutput())).isEqualTo(failure(sequential.getOutput()));
+    }
+
+    private static String failure(String output) {
+        return output.substring(output.indexOf("* What went wrong:"), output.indexOf("* Try:"));
+    }
 }
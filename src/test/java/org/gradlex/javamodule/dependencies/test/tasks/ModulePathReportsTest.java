@@ -0,0 +1,155 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.gradlex.javamodule.dependencies.test.tasks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.gradlex.javamodule.dependencies.test.fixture.GradleBuild.GRADLE_VERSION_UNDER_TEST;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.gradlex.javamodule.dependencies.test.fixture.GradleBuild;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ModulePathReportsTest {
+
+    GradleBuild build = new GradleBuild(true);
+
+    @BeforeEach
+    void setup() {
+        build.libBuildFile.appendText("""
+            dependencies.constraints {
+                implementation("org.slf4j:slf4j-api:2.0.16")
+                implementation("org.apache.commons:commons-lang3:3.12.0")
+            }
+        """);
+        build.libModuleInfoFile.writeText("""
+            module org.gradlex.test.lib {
+                requires org.slf4j;
+                requires org.apache.commons.lang3;
+            }
+        """);
+        build.appModuleInfoFile.writeText("""
+            module org.gradlex.test.app {
+                requires org.gradlex.test.lib;
+            }
+        """);
+    }
+
+    @Test
+    void moduleDependencies_lists_real_automatic_and_local_modules() {
+        var result = build.runner(false, ":app:moduleDependencies").build();
+
+        assertThat(result.getOutput()).contains("""
+            runtimeClasspath - Runtime classpath of source set 'main'.
+            +--- [BOM] project :app (*)
+            \\--- org.gradlex.test.lib | project :lib | lib.jar
+                 +--- org.slf4j (2.0.16) | org.slf4j:slf4j-api | slf4j-api-2.0.16.jar
+                 +--- [AUTO] org.apache.commons.lang3 (3.12.0) | org.apache.commons:commons-lang3 | commons-lang3-3.12.0.jar
+                 +--- org.slf4j (2.0.16) | org.slf4j:slf4j-api (c)
+                 \\--- [AUTO] org.apache.commons.lang3 (3.12.0) | org.apache.commons:commons-lang3 (c)
+            """);
+        assertThat(result.getOutput()).contains("""
+            testCompileClasspath - Compile classpath for source set 'test'.
+            +--- [BOM] project :app (*)
+            \\--- org.gradlex.test.lib | project :lib | main
+            """);
+    }
+
+    @Test
+    void analyzeModulePath_lists_real_automatic_and_local_modules() {
+        var result = build.runner(false, ":app:analyzeModulePath").build();
+
+        assertThat(result.getOutput()).contains("""
+            [INFO] All Java Modules required by this project
+            ================================================
+            [AUTO] org.apache.commons.lang3 -> org.apache.commons:commons-lang3 (3.12.0)
+            org.gradlex.test.lib -> project :lib
+            org.slf4j -> org.slf4j:slf4j-api (2.0.16)
+            """);
+        assertThat(result.getOutput()).doesNotContain("[WARN]");
+    }
+
+    @Test
+    void analyzeModulePath_inspects_a_Jar_that_is_on_several_classpaths_once() {
+        // put 'lib.jar' instead of the class folder on the compile classpath
+        build.file("gradle.properties").writeText("org.gradle.java.compile-classpath-packaging=true");
+
+        var result = build.runner(false, ":app:analyzeModulePath").build();
+
+        assertThat(result.getOutput()).contains("""
+            > Task :app:analyzeModulePath
+
+            [INFO] All Java Modules required by this project
+            ================================================
+            [AUTO] org.apache.commons.lang3 -> org.apache.commons:commons-lang3 (3.12.0)
+            org.gradlex.test.lib -> project :lib
+            org.slf4j -> org.slf4j:slf4j-api (2.0.16)
+
+            """);
+        assertThat(result.getOutput()).doesNotContain("[WARN]");
+        // Jars from repositories are inspected by the transform; 'lib.jar' is inspected by one work item
+        var workItemResults = build.projectDir.dir("app/build/tmp/analyzeModulePath").getAsPath();
+        assertThat(workItemResults.toFile().list((dir, name) -> name.endsWith(".module-descriptor")))
+                .hasSize(1);
+    }
+
+    @Test
+    void checkModuleDirectivesScope_uses_module_names_of_jars() {
+        // the Dependency Analysis Plugin on the test classpath requires the latest Gradle version
+        assumeTrue(GRADLE_VERSION_UNDER_TEST == null);
+        build.file("build.gradle.kts").writeText("""
+            plugins { id("com.autonomousapps.dependency-analysis") }
+        """);
+        build.libBuildFile.appendText("""
+            apply(plugin = "com.autonomousapps.dependency-analysis")
+        """);
+        build.file("lib/src/main/java/org/gradlex/test/lib/Lib.java").writeText("""
+            package org.gradlex.test.lib;
+            public class Lib {
+                public static org.slf4j.Logger logger() { return null; }
+            }
+        """);
+
+        var result = build.runner(false, ":lib:checkModuleDirectivesScope").buildAndFail();
+
+        assertThat(result.getOutput())
+                .contains("Please add the following requires directives:\n      requires transitive org.slf4j;");
+        assertThat(result.getOutput())
+                .contains("Please remove the following requires directives (or change to runtimeOnly):\n"
+                        + "      requires org.apache.commons.lang3;\n"
+                        + "      requires org.slf4j;");
+    }
+
+    @Test
+    void reports_use_module_names_of_jars_patched_by_extra_java_module_info() {
+        build.libBuildFile.appendText("""
+            apply(plugin = "org.gradlex.extra-java-module-info")
+            configure<org.gradlex.javamodule.moduleinfo.ExtraJavaModuleInfoPluginExtension> {
+                failOnMissingModuleInfo.set(false) // 'lib-test-fixtures.jar'
+                automaticModule("javax.inject:javax.inject", "javax.inject")
+            }
+            dependencies.constraints { implementation("javax.inject:javax.inject:1") }
+        """);
+        build.libModuleInfoFile.writeText("""
+            module org.gradlex.test.lib {
+                requires org.slf4j;
+                requires javax.inject;
+            }
+        """);
+
+        var result = build.runner(false, ":lib:moduleDependencies", ":lib:analyzeModulePath").build();
+
+        assertThat(result.getOutput()).contains("""
+            runtimeClasspath - Runtime classpath of source set 'main'.
+            +--- org.slf4j (2.0.16) | org.slf4j:slf4j-api | slf4j-api-2.0.16.jar
+            +--- [AUTO] javax.inject (1) | javax.inject:javax.inject | javax.inject-1-module.jar
+            """);
+        assertThat(result.getOutput()).contains("""
+            [INFO] All Java Modules required by this project
+            ================================================
+            [AUTO] javax.inject -> javax.inject:javax.inject (1)
+            org.gradlex.test.lib -> project :lib
+            org.slf4j -> org.slf4j:slf4j-api (2.0.16)
+            """);
+        assertThat(result.getOutput()).doesNotContain("[WARN] Components that are NOT Java Modules");
+    }
+}